@@ -0,0 +1,112 @@
+package org.example.benchmark;
+
+import org.example.booking.model.NearestBooking;
+import org.example.item.comment.Comment;
+import org.example.item.model.Item;
+import org.example.user.model.User;
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    static EasyRandom random() {
+        return new EasyRandom(new EasyRandomParameters()
+                .seed(SEED)
+                .stringLengthRange(5, 40)
+                .collectionSizeRange(0, 0)
+                .dateRange(LocalDate.now().minusYears(1), LocalDate.now().plusYears(1))
+                .randomizationDepth(1));
+    }
+
+    static User user(EasyRandom random, long id) {
+        return User.builder()
+                .id(id)
+                .name(random.nextObject(String.class))
+                .email("user" + id + "@bench.ru")
+                .build();
+    }
+
+    static List<Item> items(EasyRandom random, User owner, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name(random.nextObject(String.class))
+                    .description(random.nextObject(String.class))
+                    .available(random.nextBoolean())
+                    .owner(owner)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Comment> comments(EasyRandom random, List<Item> items, User author, int perItem) {
+        List<Comment> comments = new ArrayList<>(items.size() * perItem);
+        long id = 1;
+        for (int i = 0; i < perItem; i++) {
+            for (Item item : items) {
+                comments.add(Comment.builder()
+                        .id(id++)
+                        .text(random.nextObject(String.class))
+                        .item(item)
+                        .author(author)
+                        .created(random.nextObject(LocalDateTime.class))
+                        .build());
+            }
+        }
+        return comments;
+    }
+
+    static List<NearestBooking> nearestBookings(List<Item> items, long bookerId) {
+        List<NearestBooking> nearest = new ArrayList<>(items.size() * 2);
+        long id = 1;
+        for (Item item : items) {
+            nearest.add(new Nearest(item.getId(), id++, bookerId, true));
+            nearest.add(new Nearest(item.getId(), id++, bookerId, false));
+        }
+        return nearest;
+    }
+
+    private static final class Nearest implements NearestBooking {
+        private final Long itemId;
+        private final Long id;
+        private final Long bookerId;
+        private final Boolean last;
+
+        private Nearest(Long itemId, Long id, Long bookerId, Boolean last) {
+            this.itemId = itemId;
+            this.id = id;
+            this.bookerId = bookerId;
+            this.last = last;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getBookerId() {
+            return bookerId;
+        }
+
+        @Override
+        public Boolean getLast() {
+            return last;
+        }
+    }
+}
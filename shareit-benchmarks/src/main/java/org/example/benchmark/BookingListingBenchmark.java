@@ -0,0 +1,125 @@
+package org.example.benchmark;
+
+import org.example.booking.BookingService;
+import org.example.booking.BookingState;
+import org.example.booking.model.Booking;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of an owner's bookings when the owner has 50k of them. {@code slice} is the listing as it runs now,
+ * {@code page} adds the COUNT query a {@code Page} result used to run in the same transaction. The statements
+ * counter shows the database round trips per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingListingBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int BOOKINGS_PER_ITEM = 100;
+
+    @Param({"50000"})
+    private int bookings;
+    @Param({"ALL", "PAST"})
+    private BookingState state;
+
+    private SeededServer server;
+    private BookingService bookingService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer(bookings / BOOKINGS_PER_ITEM, BOOKINGS_PER_ITEM, 0,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        bookingService = server.getBean(BookingService.class);
+        entityManager = server.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        statistics = server.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long requests;
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            statements = 0;
+        }
+
+        public double statementsPerRequest() {
+            return requests == 0 ? 0 : (double) statements / requests;
+        }
+    }
+
+    @Benchmark
+    public List<Booking> slice(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        List<Booking> result = bookingService.getAllByOwner(server.ownerId(), state, 0, PAGE_SIZE);
+        count(roundTrips, before);
+        return result;
+    }
+
+    @Benchmark
+    public Long page(RoundTrips roundTrips) {
+        long before = statistics.getPrepareStatementCount();
+        Long total = readOnly.execute(status -> {
+            bookingService.getAllByOwner(server.ownerId(), state, 0, PAGE_SIZE);
+            return countQuery().getSingleResult();
+        });
+        count(roundTrips, before);
+        return total;
+    }
+
+    private TypedQuery<Long> countQuery() {
+        if (state == BookingState.PAST) {
+            return entityManager.createQuery("SELECT COUNT(b) FROM Booking b " +
+                            "WHERE b.ownerId = :ownerId AND b.end < CURRENT_TIMESTAMP", Long.class)
+                    .setParameter("ownerId", server.ownerId());
+        }
+        return entityManager.createQuery("SELECT COUNT(b) FROM Booking b " +
+                        "WHERE b.ownerId = :ownerId AND b.status IN :statuses", Long.class)
+                .setParameter("ownerId", server.ownerId())
+                .setParameter("statuses", state.statuses());
+    }
+
+    private void count(RoundTrips roundTrips, long before) {
+        roundTrips.requests++;
+        roundTrips.statements += statistics.getPrepareStatementCount() - before;
+    }
+}
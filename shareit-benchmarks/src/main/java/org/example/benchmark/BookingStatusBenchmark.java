@@ -0,0 +1,81 @@
+package org.example.benchmark;
+
+import org.example.booking.BookingService;
+import org.example.booking.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking status changes from concurrent owner requests. Each thread flips its own bookings between approved and
+ * rejected, while the items are shared, so approvals contend for the same item row locks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class BookingStatusBenchmark {
+    @Param({"1", "8"})
+    private int items;
+    @Param({"25"})
+    private int bookingsPerItem;
+
+    private SeededServer server;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer(items, bookingsPerItem, 0);
+        bookingService = server.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Owner {
+        private final List<Long> bookingIds = new ArrayList<>();
+        private boolean[] approved;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(BookingStatusBenchmark benchmark, ThreadParams threads) {
+            List<Long> seeded = benchmark.server.bookingIds();
+            for (int i = threads.getThreadIndex(); i < seeded.size(); i += threads.getThreadCount()) {
+                bookingIds.add(seeded.get(i));
+            }
+            approved = new boolean[bookingIds.size()];
+            Arrays.fill(approved, true);
+        }
+    }
+
+    @Benchmark
+    public Booking changeStatus(Owner owner) {
+        int i = owner.next;
+        owner.next = (i + 1) % owner.bookingIds.size();
+        owner.approved[i] = !owner.approved[i];
+        return bookingService.changeStatus(server.ownerId(), owner.bookingIds.get(i), owner.approved[i]);
+    }
+}
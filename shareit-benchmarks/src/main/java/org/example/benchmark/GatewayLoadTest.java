@@ -0,0 +1,109 @@
+package org.example.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test: keeps {@code connections} requests in flight against one gateway URL for the given
+ * duration and prints throughput, latency percentiles and the gateway's live JVM thread count.
+ * <p>
+ * Usage: {@code GatewayLoadTest <url> [connections=10000] [seconds=30] [userId=1]}
+ */
+public final class GatewayLoadTest {
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.]+)");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicLong errors = new AtomicLong();
+    private final HttpRequest request;
+    private final long deadline;
+    private final CountDownLatch finished;
+
+    private GatewayLoadTest(URI url, long userId, int connections, Duration duration) {
+        this.request = HttpRequest.newBuilder(url)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        this.deadline = System.nanoTime() + duration.toNanos();
+        this.finished = new CountDownLatch(connections);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: GatewayLoadTest <url> [connections=10000] [seconds=30] [userId=1]");
+            System.exit(1);
+        }
+        URI url = URI.create(args[0]);
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        long userId = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+
+        GatewayLoadTest test = new GatewayLoadTest(url, userId, connections, duration);
+        long started = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            test.next();
+        }
+        String threads = test.liveThreads(url);
+        test.finished.await();
+        test.report(connections, Duration.ofNanos(System.nanoTime() - started), threads);
+    }
+
+    private void next() {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long started = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() >= 500) {
+                        errors.incrementAndGet();
+                    } else {
+                        latencies.add(System.nanoTime() - started);
+                    }
+                    next();
+                });
+    }
+
+    private String liveThreads(URI url) {
+        try {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                            url.resolve("/actuator/metrics/jvm.threads.live")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = METRIC_VALUE.matcher(response.body());
+            return matcher.find() ? matcher.group(1) : "n/a";
+        } catch (Exception e) {
+            return "n/a";
+        }
+    }
+
+    private void report(int connections, Duration elapsed, String threads) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = elapsed.toMillis() / 1000.0;
+        System.out.printf("connections=%d duration=%.1fs requests=%d errors=%d rps=%.0f%n",
+                connections, seconds, sorted.length, errors.get(), sorted.length / seconds);
+        System.out.printf("latency p50=%dms p90=%dms p99=%dms max=%dms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 1.0));
+        System.out.printf("gateway jvm.threads.live under load=%s%n", threads);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return Duration.ofNanos(sorted[Math.max(0, index)]).toMillis();
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.benchmark;
+
+import org.example.item.ItemService;
+import org.example.item.model.ItemDto;
+import org.example.item.search.TrigramItemSearchEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item search over a million items with the SQL and the trigram engine. One item in a thousand is a drill, the rest
+ * share a common word, so the queries cover rare, frequent and missing text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"sql", "trigram"})
+    private String engine;
+    @Param({"1000000"})
+    private int items;
+
+    private SeededServer server;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer(1, 1, 0, "shareit.search.engine=" + engine);
+        server.getBean(JdbcTemplate.class).update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "SELECT X + 1000, 'Вещь ' || X, " +
+                "CASE WHEN MOD(X, 1000) = 0 THEN 'Аккумуляторная дрель' ELSE 'Ручной инструмент №' || X END, " +
+                "TRUE, ? FROM SYSTEM_RANGE(1, ?)", server.ownerId(), items);
+        if (engine.equals("trigram")) {
+            server.getBean(TrigramItemSearchEngine.class).rebuild();
+        }
+        itemService = server.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> rareText() {
+        return itemService.getFromSearch(server.bookerId(), "дрель", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> rareTextDeepPage() {
+        return itemService.getFromSearch(server.bookerId(), "дрель", 500, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> frequentText() {
+        return itemService.getFromSearch(server.bookerId(), "инструмент", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> missingText() {
+        return itemService.getFromSearch(server.bookerId(), "стремянка", 0, PAGE_SIZE);
+    }
+}
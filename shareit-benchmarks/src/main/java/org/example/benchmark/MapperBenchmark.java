@@ -0,0 +1,73 @@
+package org.example.benchmark;
+
+import org.example.booking.model.NearestBooking;
+import org.example.item.ItemMapper;
+import org.example.item.comment.Comment;
+import org.example.item.comment.CommentDto;
+import org.example.item.comment.CommentMapper;
+import org.example.item.model.Item;
+import org.example.item.model.ItemGetDto;
+import org.example.user.model.User;
+import org.jeasy.random.EasyRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"10", "100", "1000"})
+    private int items;
+    @Param({"0", "5"})
+    private int commentsPerItem;
+
+    private Item item;
+    private List<Item> ownerItems;
+    private List<NearestBooking> nearest;
+    private List<Comment> comments;
+    private List<CommentDto> itemComments;
+
+    @Setup
+    public void setUp() {
+        EasyRandom random = BenchmarkData.random();
+        User owner = BenchmarkData.user(random, 1L);
+        User booker = BenchmarkData.user(random, 2L);
+        ownerItems = BenchmarkData.items(random, owner, items);
+        item = ownerItems.get(0);
+        nearest = BenchmarkData.nearestBookings(ownerItems, booker.getId());
+        comments = BenchmarkData.comments(random, ownerItems, booker, commentsPerItem);
+        itemComments = CommentMapper.mapToCommentDto(
+                BenchmarkData.comments(random, Collections.singletonList(item), booker, commentsPerItem));
+    }
+
+    @Benchmark
+    public ItemGetDto mapToItemGetDto() {
+        return ItemMapper.mapToItemGetDto(item, nearest, itemComments);
+    }
+
+    @Benchmark
+    public List<ItemGetDto> mapOwnerItems() {
+        return ItemMapper.mapToItemGetDto(ownerItems, nearest, comments);
+    }
+
+    @Benchmark
+    public List<CommentDto> mapToCommentDto() {
+        return CommentMapper.mapToCommentDto(comments);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.benchmark;
+
+import org.example.pagination.CursorPage;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.OffsetPageRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start");
+
+    private List<Long> page;
+    private KeysetCursor cursor;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        page = LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList());
+        cursor = KeysetCursor.of(LocalDateTime.of(2030, 1, 1, 10, 0), 42L);
+        token = cursor.encode();
+    }
+
+    @Benchmark
+    public OffsetPageRequest offsetPageRequest() {
+        return OffsetPageRequest.of(40, 20, SORT);
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return cursor.encode();
+    }
+
+    @Benchmark
+    public KeysetCursor decodeCursor() {
+        return KeysetCursor.decode(token, true);
+    }
+
+    @Benchmark
+    public CursorPage<Long> cursorPage() {
+        return CursorPage.of(page, true, KeysetCursor::of);
+    }
+}
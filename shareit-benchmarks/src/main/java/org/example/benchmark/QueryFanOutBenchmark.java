@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.item.ItemService;
+import org.example.item.model.ItemGetDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution (p50/p99 in the sample-time report) of owner item pages with and without query fan-out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class QueryFanOutBenchmark {
+    @Param({"true", "false"})
+    private boolean fanOut;
+    @Param({"100", "200"})
+    private int pageSize;
+
+    private SeededServer server;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer(pageSize, 10, 5, "shareit.query.fan-out.enabled=" + fanOut);
+        itemService = server.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<ItemGetDto> itemsByOwner() {
+        return itemService.getAllByOwnerId(server.ownerId(), 0, pageSize);
+    }
+
+    @Benchmark
+    public ItemGetDto itemByOwner() {
+        return itemService.getById(server.ownerId(), server.itemId());
+    }
+}
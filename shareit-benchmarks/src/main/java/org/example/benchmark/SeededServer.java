@@ -0,0 +1,112 @@
+package org.example.benchmark;
+
+import org.example.App;
+import org.example.booking.BookingRepository;
+import org.example.booking.BookingStatus;
+import org.example.booking.model.Booking;
+import org.example.item.ItemRepository;
+import org.example.item.comment.Comment;
+import org.example.item.comment.CommentRepository;
+import org.example.item.model.Item;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.jeasy.random.EasyRandom;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The server context without the web layer, on an embedded H2 database seeded with easy-random data.
+ */
+final class SeededServer implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final Long ownerId;
+    private final Long bookerId;
+    private final Long itemId;
+    private final Long bookingId;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    SeededServer(int items, int bookingsPerItem, int commentsPerItem, String... properties) {
+        // Passed as arguments: default properties would lose to application.properties.
+        String[] args = Stream.concat(Stream.of("spring.datasource.url=jdbc:h2:mem:benchmark"), Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(App.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off")
+                .run(args);
+
+        EasyRandom random = BenchmarkData.random();
+        User owner = getBean(UserRepository.class).save(withoutId(BenchmarkData.user(random, 1L)));
+        User booker = getBean(UserRepository.class).save(withoutId(BenchmarkData.user(random, 2L)));
+        List<Item> generated = BenchmarkData.items(random, owner, items);
+        generated.forEach(item -> item.setId(null));
+        List<Item> saved = getBean(ItemRepository.class).saveAll(generated);
+        List<Comment> comments = BenchmarkData.comments(random, saved, booker, commentsPerItem);
+        comments.forEach(comment -> comment.setId(null));
+        getBean(CommentRepository.class).saveAll(comments);
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<Booking> bookings = new ArrayList<>(items * bookingsPerItem);
+        for (Item item : saved) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusDays(i - bookingsPerItem / 2);
+                bookings.add(Booking.builder()
+                        .start(start)
+                        .end(start.plusHours(1))
+                        .item(item)
+                        .booker(booker)
+                        .status(BookingStatus.APPROVED)
+                        .build());
+            }
+        }
+        List<Booking> savedBookings = getBean(BookingRepository.class).saveAll(bookings);
+
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        itemId = saved.get(0).getId();
+        bookingId = savedBookings.get(0).getId();
+        savedBookings.forEach(booking -> bookingIds.add(booking.getId()));
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Long ownerId() {
+        return ownerId;
+    }
+
+    Long bookerId() {
+        return bookerId;
+    }
+
+    Long itemId() {
+        return itemId;
+    }
+
+    Long bookingId() {
+        return bookingId;
+    }
+
+    List<Long> bookingIds() {
+        return bookingIds;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static User withoutId(User user) {
+        user.setId(null);
+        return user;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.benchmark;
+
+import org.example.booking.BookingService;
+import org.example.booking.BookingState;
+import org.example.booking.model.Booking;
+import org.example.item.ItemService;
+import org.example.item.model.ItemGetDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the service layer against an embedded H2 database seeded with easy-random data.
+ * Every measured call goes through the real repositories, transactions and mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"20", "200"})
+    private int items;
+    @Param({"10"})
+    private int bookingsPerItem;
+    @Param({"3"})
+    private int commentsPerItem;
+
+    private SeededServer server;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer(items, bookingsPerItem, commentsPerItem);
+        itemService = server.getBean(ItemService.class);
+        bookingService = server.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<ItemGetDto> itemsByOwner() {
+        return itemService.getAllByOwnerId(server.ownerId(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemGetDto itemByOwner() {
+        return itemService.getById(server.ownerId(), server.itemId());
+    }
+
+    @Benchmark
+    public List<Booking> bookingsByOwner() {
+        return bookingService.getAllByOwner(server.ownerId(), BookingState.ALL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Booking> pastBookingsByOwner() {
+        return bookingService.getAllByOwner(server.ownerId(), BookingState.PAST, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Booking> bookingsByBooker() {
+        return bookingService.getAllByBooker(server.bookerId(), BookingState.PAST, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Booking bookingByOwner() {
+        return bookingService.getById(server.ownerId(), server.bookingId());
+    }
+}
@@ -1,80 +1,86 @@
 package org.example.booking;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import org.example.booking.model.BookingDto;
 import org.example.exception.BookingStateBadRequestException;
-import org.example.exception.ColoredCRUDLogger;
+import org.example.exception.ItemBadRequestException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.Arrays;
+import java.util.List;
 
 @RestController
 @Validated
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
-@Slf4j
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody BookingDto bookingDto) {
-        ColoredCRUDLogger.logPost("GATEWAY /bookings", bookingDto.toString());
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @Valid @RequestBody BookingDto bookingDto) {
         return bookingClient.create(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestBody List<BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ItemBadRequestException("Пакет должен содержать от 1 до " + MAX_BATCH_SIZE + " бронирований");
+        }
+        return bookingClient.createAll(userId, bookingDtos);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable Long bookingId) {
-        String url = String.format("GATEWAY /bookings/{%s}", bookingId);
-        ColoredCRUDLogger.logGet(url, userId.toString());
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long bookingId) {
         return bookingClient.getById(userId, bookingId);
     }
 
     @GetMapping()
-    public ResponseEntity<Object> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                 @RequestParam(name = "from", defaultValue = "0")
-                                                 @PositiveOrZero int from,
-                                                 @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+    public Mono<ResponseEntity<Object>> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                       @RequestParam(name = "from", defaultValue = "0")
+                                                       @PositiveOrZero int from,
+                                                       @RequestParam(name = "size", defaultValue = "10")
+                                                       @Positive int size,
+                                                       @RequestParam(name = "cursor", required = false) String cursor) {
         if (Arrays.stream(BookingState.values()).noneMatch(e -> e.name().equals(state))) {
             throw new BookingStateBadRequestException(state);
         }
 
-        String url = String.format("GATEWAY /bookings?state={%s}&from{%s}&size{%s}", state, from, size);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        return bookingClient.getAllByBooker(userId, BookingState.valueOf(state), from, size);
+        return bookingClient.getAllByBooker(userId, BookingState.valueOf(state), from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                @RequestParam(name = "from", defaultValue = "0")
-                                                @PositiveOrZero int from,
-                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+    public Mono<ResponseEntity<Object>> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                      @RequestParam(name = "from", defaultValue = "0")
+                                                      @PositiveOrZero int from,
+                                                      @RequestParam(name = "size", defaultValue = "10")
+                                                      @Positive int size,
+                                                      @RequestParam(name = "cursor", required = false) String cursor) {
         if (Arrays.stream(BookingState.values()).noneMatch(e -> e.name().equals(state))) {
             throw new BookingStateBadRequestException(state);
         }
 
-        String url = String.format("GATEWAY /bookings/owner?state={%s}&from{%s}&size{%s}", state, from, size);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        return bookingClient.getAllByOwner(userId, BookingState.valueOf(state), from, size);
+        return bookingClient.getAllByOwner(userId, BookingState.valueOf(state), from, size, cursor);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> changeStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @PathVariable Long bookingId,
-                                               @RequestParam(name = "approved") boolean approved) {
-        String url = String.format("GATEWAY /bookings/{%s}?approved={%s}", bookingId, approved);
-        ColoredCRUDLogger.logPatch(url, userId.toString());
+    public Mono<ResponseEntity<Object>> changeStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @PathVariable Long bookingId,
+                                                     @RequestParam(name = "approved") boolean approved) {
         return bookingClient.changeStatus(userId, bookingId, approved);
     }
 }
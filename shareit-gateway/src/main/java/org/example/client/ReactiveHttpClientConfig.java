@@ -0,0 +1,55 @@
+package org.example.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveHttpClientConfig {
+    @Value("${shareit.http-client.max-total:200}")
+    private int maxTotal;
+    @Value("${shareit.http-client.connect-timeout:2s}")
+    private Duration connectTimeout;
+    @Value("${shareit.http-client.read-timeout:10s}")
+    private Duration readTimeout;
+    @Value("${shareit.http-client.pool-timeout:2s}")
+    private Duration poolTimeout;
+    @Value("${shareit.http-client.keep-alive:30s}")
+    private Duration keepAlive;
+    @Value("${shareit.http-client.idle-eviction:30s}")
+    private Duration idleEviction;
+    @Value("${shareit.http-client.pending-acquire-max:10000}")
+    private int pendingAcquireMax;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider() {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(poolTimeout)
+                .maxIdleTime(idleEviction)
+                .maxLifeTime(keepAlive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareitServerWebClient(WebClient.Builder builder, ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
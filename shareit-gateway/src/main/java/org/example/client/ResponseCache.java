@@ -0,0 +1,128 @@
+package org.example.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server responses cached per resource (users, items, bookings, requests) and revalidated with the server's ETag or
+ * Last-Modified once they stop being fresh. A write drops the cached responses of its own resource and of those that
+ * embed it, and bumps their generations so that reads already in flight do not store a stale answer.
+ */
+@Component
+public class ResponseCache {
+    private static final List<String> UNCACHED_HEADERS = List.of(HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.DATE);
+    // Items embed comment authors and their nearest bookings, bookings embed items and users, requests embed items.
+    private static final Map<String, Set<String>> AFFECTED_BY_WRITE = Map.of(
+            "users", Set.of("users", "items", "bookings", "requests"),
+            "items", Set.of("items", "bookings", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests"));
+
+    private final Cache<Key, Entry> entries;
+    private final long freshForNanos;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${shareit.cache.responses.fresh-for:30s}") Duration freshFor,
+                         @Value("${shareit.cache.responses.expire-after:10m}") Duration expireAfter,
+                         @Value("${shareit.cache.responses.max-size:10000}") long maxSize) {
+        this.freshForNanos = freshFor.toNanos();
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfter)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public long generation(String resource) {
+        return generationOf(resource).get();
+    }
+
+    public Entry get(Key key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(Key key, ResponseEntity<Object> response, long requestGeneration) {
+        HttpHeaders headers = response.getHeaders();
+        if (headers.getETag() == null && headers.getLastModified() < 0) {
+            return;
+        }
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                stored.addAll(name, values);
+            }
+        });
+        Entry entry = new Entry(HttpHeaders.readOnlyHttpHeaders(stored), response.getBody(), System.nanoTime());
+        AtomicLong generation = generationOf(key.resource);
+        entries.asMap().compute(key, (k, old) -> requestGeneration == generation.get() ? entry : old);
+    }
+
+    public void refresh(Key key, Entry entry, long requestGeneration) {
+        put(key, entry.toResponseEntity(), requestGeneration);
+    }
+
+    public void invalidate(String resource) {
+        Set<String> affected = AFFECTED_BY_WRITE.getOrDefault(resource, AFFECTED_BY_WRITE.keySet());
+        affected.forEach(name -> generationOf(name).incrementAndGet());
+        entries.asMap().keySet().removeIf(key -> affected.contains(key.resource));
+    }
+
+    private AtomicLong generationOf(String resource) {
+        return generations.computeIfAbsent(resource, name -> new AtomicLong());
+    }
+
+    @EqualsAndHashCode
+    public static class Key {
+        private final String resource;
+        private final Long userId;
+        private final URI uri;
+
+        public Key(String resource, Long userId, URI uri) {
+            this.resource = resource;
+            this.userId = userId;
+            this.uri = uri;
+        }
+    }
+
+    public class Entry {
+        private final HttpHeaders headers;
+        private final Object body;
+        private final long storedAt;
+
+        private Entry(HttpHeaders headers, Object body, long storedAt) {
+            this.headers = headers;
+            this.body = body;
+            this.storedAt = storedAt;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - storedAt < freshForNanos;
+        }
+
+        public void addValidators(HttpHeaders requestHeaders) {
+            if (headers.getETag() != null) {
+                requestHeaders.setIfNoneMatch(headers.getETag());
+            }
+            if (headers.getLastModified() >= 0) {
+                requestHeaders.setIfModifiedSince(headers.getLastModified());
+            }
+        }
+
+        public ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+    }
+}
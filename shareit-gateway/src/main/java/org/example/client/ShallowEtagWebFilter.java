@@ -0,0 +1,56 @@
+package org.example.client;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link org.springframework.web.filter.ShallowEtagHeaderFilter}: tags successful JSON GET
+ * responses with an MD5 ETag of the body and answers a matching If-None-Match with 304 and no body. Other responses,
+ * NDJSON streams included, are written through without buffering.
+ */
+public class ShallowEtagWebFilter implements WebFilter {
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isTaggable(getDelegate())) {
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body).flatMap(buffer -> {
+                    byte[] content = new byte[buffer.readableByteCount()];
+                    buffer.read(content);
+                    DataBufferUtils.release(buffer);
+                    String etag = "\"0" + DigestUtils.md5DigestAsHex(content) + "\"";
+                    if (exchange.checkNotModified(etag)) {
+                        return getDelegate().setComplete();
+                    }
+                    getHeaders().setETag(etag);
+                    return getDelegate().writeWith(Mono.just(bufferFactory().wrap(content)));
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private static boolean isTaggable(ServerHttpResponse response) {
+        HttpStatus status = response.getStatusCode();
+        MediaType contentType = response.getHeaders().getContentType();
+        return (status == null || status.is2xxSuccessful())
+                && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.export;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.example.booking.BookingState;
+import org.example.exception.BookingStateBadRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Server paths for booking listings streamed as NDJSON. The server streams them from its reactive reads when
+ * shareit.bookings.reactive-reads.enabled is set and falls back to the JSON list otherwise; errors come back as JSON
+ * either way.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class BookingListings {
+    static String path(String path, String state, int from, int size) {
+        if (Arrays.stream(BookingState.values()).noneMatch(e -> e.name().equals(state))) {
+            throw new BookingStateBadRequestException(state);
+        }
+        return UriComponentsBuilder.fromPath(path)
+                .queryParam("state", state)
+                .queryParam("from", from)
+                .queryParam("size", size)
+                .toUriString();
+    }
+}
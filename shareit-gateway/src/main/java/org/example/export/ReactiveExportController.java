@@ -0,0 +1,75 @@
+package org.example.export;
+
+import org.example.client.BaseClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+@RestController
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExportController {
+    private final String serverUrl;
+    private final WebClient webClient;
+
+    public ReactiveExportController(@Value("${shareIt-server.url}") String serverUrl,
+                                    WebClient shareitServerWebClient) {
+        this.serverUrl = serverUrl;
+        this.webClient = shareitServerWebClient;
+    }
+
+    @GetMapping("/items/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return export("/items/export", userId);
+    }
+
+    @GetMapping("/bookings/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return export("/bookings/owner/export", userId);
+    }
+
+    @GetMapping(path = "/bookings", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamBookerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        return export(BookingListings.path("/bookings", state, from, size), userId);
+    }
+
+    @GetMapping(path = "/bookings/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
+        return export(BookingListings.path("/bookings/owner", state, from, size), userId);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> export(String path, Long userId) {
+        return webClient.get()
+                .uri(serverUrl + path)
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+                        .headers(BaseClient.prepareGatewayHeaders(response.getHeaders()))
+                        .body(response.getBody()));
+    }
+}
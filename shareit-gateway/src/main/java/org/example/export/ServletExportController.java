@@ -0,0 +1,91 @@
+package org.example.export;
+
+import org.example.client.BaseClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServletExportController {
+    private final String serverUrl;
+    private final ClientHttpRequestFactory requestFactory;
+
+    public ServletExportController(@Value("${shareIt-server.url}") String serverUrl,
+                                   ClientHttpRequestFactory requestFactory) {
+        this.serverUrl = serverUrl;
+        this.requestFactory = requestFactory;
+    }
+
+    @GetMapping("/items/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             HttpServletRequest gatewayRequest) throws IOException {
+        return export("/items/export", userId, gatewayRequest);
+    }
+
+    @GetMapping("/bookings/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     HttpServletRequest gatewayRequest)
+            throws IOException {
+        return export("/bookings/owner/export", userId, gatewayRequest);
+    }
+
+    @GetMapping(path = "/bookings", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+            HttpServletRequest gatewayRequest) throws IOException {
+        return export(BookingListings.path("/bookings", state, from, size), userId, gatewayRequest);
+    }
+
+    @GetMapping(path = "/bookings/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(name = "size", defaultValue = "10") @Positive int size,
+            HttpServletRequest gatewayRequest) throws IOException {
+        return export(BookingListings.path("/bookings/owner", state, from, size), userId, gatewayRequest);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String path, Long userId, HttpServletRequest gatewayRequest)
+            throws IOException {
+        // The ETag filter would otherwise hold the whole stream in memory to hash it.
+        ShallowEtagHeaderFilter.disableContentCaching(gatewayRequest);
+        ClientHttpRequest request = requestFactory.createRequest(URI.create(serverUrl + path), HttpMethod.GET);
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        ClientHttpResponse response = request.execute();
+        StreamingResponseBody body = out -> {
+            try (response) {
+                StreamUtils.copy(response.getBody(), out);
+            }
+        };
+        return ResponseEntity.status(response.getRawStatusCode())
+                .headers(BaseClient.prepareGatewayHeaders(response.getHeaders()))
+                .body(body);
+    }
+}
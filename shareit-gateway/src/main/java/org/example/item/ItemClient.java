@@ -2,15 +2,17 @@ package org.example.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import org.example.client.BaseClient;
+import org.example.client.ResponseCache;
+import org.example.client.ServerTransport;
 import org.example.item.comment.CommentDto;
 import org.example.item.model.ItemDto;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,46 +20,47 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareIt-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareIt-server.url}") String serverUrl, ServerTransport transport,
+                      ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, transport, responseCache);
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, long itemId, CommentDto requestDto) {
+    public Mono<ResponseEntity<Object>> createAll(Long userId, List<ItemDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(Long userId, long itemId, CommentDto requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getAllByOwnerId(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getAllByOwnerId(Long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> getFromSearch(Long userId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getFromSearch(Long userId, String text, Integer from, Integer size,
+                                                      String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/search?text={text}&from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long itemId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
 
-    public ResponseEntity<Object> update(Long userId, long itemId, ItemDto requestDto) {
+    public Mono<ResponseEntity<Object>> update(Long userId, long itemId, ItemDto requestDto) {
         return patch("/" + itemId, userId, requestDto);
     }
 }
@@ -1,79 +1,83 @@
 package org.example.item;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import org.example.exception.ColoredCRUDLogger;
+import reactor.core.publisher.Mono;
+import org.example.exception.ItemBadRequestException;
 import org.example.item.comment.CommentDto;
 import org.example.item.model.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @RestController
 @Validated
 @RequestMapping("/items")
 @RequiredArgsConstructor
-@Slf4j
 public class ItemController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ItemClient itemClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody ItemDto itemDto) {
-        ColoredCRUDLogger.logPost("GATEWAY /items", itemDto.toString());
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @Valid @RequestBody ItemDto itemDto) {
         return itemClient.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                  @RequestBody List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new ItemBadRequestException("Пакет должен содержать от 1 до " + MAX_BATCH_SIZE + " вещей");
+        }
+        return itemClient.createAll(userId, itemDtos);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @PathVariable Long itemId,
-                                             @Valid @RequestBody CommentDto comDto) {
-        String url = String.format("GATEWAY /items/{%s}/comment", itemId);
-        ColoredCRUDLogger.logPost(url, comDto.toString());
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @Valid @RequestBody CommentDto comDto) {
         return itemClient.addComment(userId, itemId, comDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                 @RequestParam(name = "from", defaultValue = "0")
-                                                 @PositiveOrZero int from,
-                                                 @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
-        String url = String.format("GATEWAY /items?from{%s}&size{%s}", from, size);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        return itemClient.getAllByOwnerId(userId, from, size);
+    public Mono<ResponseEntity<Object>> getAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(name = "from", defaultValue = "0")
+                                                       @PositiveOrZero int from,
+                                                       @RequestParam(name = "size", defaultValue = "10")
+                                                       @Positive int size,
+                                                       @RequestParam(name = "cursor", required = false) String cursor) {
+        return itemClient.getAllByOwnerId(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getFromSearch(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(name = "text", defaultValue = "") String text,
-                                                @RequestParam(name = "from", defaultValue = "0")
-                                                @PositiveOrZero int from,
-                                                @RequestParam(name = "size", defaultValue = "10") @Positive int size) {
-        String url = String.format("GATEWAY /items/search?from{%s}&size{%s}", from, size);
-        ColoredCRUDLogger.logGet(url, text);
-        return itemClient.getFromSearch(userId, text, from, size);
+    public Mono<ResponseEntity<Object>> getFromSearch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestParam(name = "text", defaultValue = "") String text,
+                                                      @RequestParam(name = "from", defaultValue = "0")
+                                                      @PositiveOrZero int from,
+                                                      @RequestParam(name = "size", defaultValue = "10")
+                                                      @Positive int size,
+                                                      @RequestParam(name = "cursor", required = false) String cursor) {
+        return itemClient.getFromSearch(userId, text, from, size, cursor);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable Long itemId) {
-        String url = String.format("GATEWAY /items/{%s}", itemId);
-        ColoredCRUDLogger.logGet(url, userId.toString());
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long itemId) {
         return itemClient.getById(userId, itemId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @PathVariable Long itemId,
-                                         @RequestBody ItemDto itemDto) {
-        String url = String.format("GATEWAY /items/{%s}", itemId);
-        ColoredCRUDLogger.logPatch(url, itemDto.toString());
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable Long itemId,
+                                               @RequestBody ItemDto itemDto) {
         return itemClient.update(userId, itemId, itemDto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package org.example.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class AccessLogWebFilter implements WebFilter {
+    private final AccessLogger accessLogger;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = pattern != null ? pattern.toString() : exchange.getRequest().getPath().value();
+            Integer status = exchange.getResponse().getRawStatusCode();
+            accessLogger.log(exchange.getRequest().getMethodValue(), endpoint, status != null ? status : 200, start,
+                    () -> "user=" + exchange.getRequest().getHeaders().getFirst("X-Sharer-User-Id"));
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.threads;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.virtual-threads")
+public class VirtualThreadProperties {
+    private boolean enabled = false;
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,15 @@
+package org.example.threads;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+@ConditionalOnMissingClass("org.example.threads.VirtualThreadConfig")
+public class VirtualThreadSupportCheck {
+    public VirtualThreadSupportCheck() {
+        throw new IllegalStateException(
+                "shareit.virtual-threads.enabled=true requires a build with the virtual-threads profile on Java 21+");
+    }
+}
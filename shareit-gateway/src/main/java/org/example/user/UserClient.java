@@ -2,12 +2,12 @@ package org.example.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import org.example.client.BaseClient;
+import org.example.client.ResponseCache;
+import org.example.client.ServerTransport;
 import org.example.user.model.UserDto;
 import org.example.user.model.UserUpdateDto;
 
@@ -16,32 +16,28 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareIt-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareIt-server.url}") String serverUrl, ServerTransport transport,
+                      ResponseCache responseCache) {
+        super(serverUrl + API_PREFIX, transport, responseCache);
     }
 
-    public ResponseEntity<Object> create(UserDto requestDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> getById(Long userId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> update(Long userId, UserUpdateDto requestDto) {
+    public Mono<ResponseEntity<Object>> update(Long userId, UserUpdateDto requestDto) {
         return patch("/" + userId, requestDto);
     }
 
-    public ResponseEntity<Object> delete(Long userId) {
+    public Mono<ResponseEntity<Object>> delete(Long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -1,11 +1,10 @@
 package org.example.user;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.example.exception.ColoredCRUDLogger;
+import reactor.core.publisher.Mono;
 import org.example.user.model.UserDto;
 import org.example.user.model.UserUpdateDto;
 
@@ -14,42 +13,34 @@ import javax.validation.Valid;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
-@Slf4j
 public class UserController {
     private final UserClient userClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto user) {
-        ColoredCRUDLogger.logPost("GATEWAY /users", user.toString());
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto user) {
         return userClient.create(user);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        ColoredCRUDLogger.logGet("/users", null);
+    public Mono<ResponseEntity<Object>> getAll() {
         return userClient.getAll();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@PathVariable Long id) {
-        String url = String.format("GATEWAY /users/{%s}", id);
-        ColoredCRUDLogger.logGet(url, null);
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long id) {
         return userClient.getById(id);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable Long userId,
-                                         @Valid @RequestBody UserUpdateDto userUpdateDto) {
-        String url = String.format("GATEWAY /users/{%s}", userId);
-        ColoredCRUDLogger.logPatch(url, userUpdateDto.toString());
+    public Mono<ResponseEntity<Object>> update(@PathVariable Long userId,
+                                               @Valid @RequestBody UserUpdateDto userUpdateDto) {
         return userClient.update(userId, userUpdateDto);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Object> delete(@PathVariable Long id) {
-        ColoredCRUDLogger.logDelete("GATEWAY /users", id.toString());
+    public Mono<ResponseEntity<Object>> delete(@PathVariable Long id) {
         return userClient.delete(id);
     }
 }
\ No newline at end of file
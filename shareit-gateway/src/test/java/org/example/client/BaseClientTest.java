@@ -0,0 +1,87 @@
+package org.example.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BaseClientTest {
+    private static final String ETAG = "\"0abc\"";
+
+    private final List<HttpHeaders> sent = new ArrayList<>();
+    private final List<ResponseEntity<Object>> replies = new ArrayList<>();
+    private final ServerTransport transport = (method, uri, headers, body) -> {
+        sent.add(headers);
+        return Mono.just(replies.remove(0));
+    };
+
+    @Test
+    void testFreshResponseIsServedWithoutServer() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        replies.add(ResponseEntity.ok().eTag(ETAG).body(Map.of("id", 1)));
+
+        client.get("/1", 1L).block();
+        ResponseEntity<Object> cached = client.get("/1", 1L).block();
+
+        assertEquals(1, sent.size());
+        assertEquals(Map.of("id", 1), cached.getBody());
+    }
+
+    @Test
+    void testStaleResponseIsRevalidatedWithIfNoneMatch() {
+        BaseClient client = client(Duration.ZERO);
+        replies.add(ResponseEntity.ok().eTag(ETAG).body(Map.of("id", 1)));
+        replies.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+
+        client.get("/1", 1L).block();
+        ResponseEntity<Object> revalidated = client.get("/1", 1L).block();
+
+        assertEquals(2, sent.size());
+        assertNull(sent.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(ETAG, sent.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals(Map.of("id", 1), revalidated.getBody());
+    }
+
+    @Test
+    void testWriteDropsCachedResponses() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        replies.add(ResponseEntity.ok().eTag(ETAG).body(Map.of("id", 1)));
+        replies.add(ResponseEntity.ok().build());
+        replies.add(ResponseEntity.ok().eTag("\"0def\"").body(Map.of("id", 1, "name", "new")));
+
+        client.get("/1", 1L).block();
+        client.patch("/1", 1L, Map.of("name", "new")).block();
+        ResponseEntity<Object> reread = client.get("/1", 1L).block();
+
+        assertEquals(3, sent.size());
+        assertNull(sent.get(2).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(Map.of("id", 1, "name", "new"), reread.getBody());
+    }
+
+    @Test
+    void testCacheIsKeyedByUser() {
+        BaseClient client = client(Duration.ofMinutes(1));
+        replies.add(ResponseEntity.ok().eTag(ETAG).body(Map.of("id", 1)));
+        replies.add(ResponseEntity.ok().eTag(ETAG).body(Map.of("id", 1)));
+
+        client.get("/1", 1L).block();
+        client.get("/1", 2L).block();
+
+        assertEquals(2, sent.size());
+    }
+
+    private BaseClient client(Duration freshFor) {
+        return new BaseClient("http://localhost:8090/users", transport,
+                new ResponseCache(freshFor, Duration.ofMinutes(10), 100));
+    }
+}
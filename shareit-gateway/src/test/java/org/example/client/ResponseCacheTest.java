@@ -0,0 +1,81 @@
+package org.example.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+    private final ResponseCache cache = new ResponseCache(Duration.ofMinutes(1), Duration.ofMinutes(10), 100);
+
+    @Test
+    void testEntryIsFreshUntilFreshForPasses() {
+        ResponseCache stale = new ResponseCache(Duration.ZERO, Duration.ofMinutes(10), 100);
+        ResponseCache.Key key = key("users", 1L, "/users/1");
+
+        cache.put(key, tagged("\"1\""), cache.generation("users"));
+        stale.put(key, tagged("\"1\""), stale.generation("users"));
+
+        assertTrue(cache.get(key).isFresh());
+        assertFalse(stale.get(key).isFresh());
+        assertEquals(Map.of("id", 1), stale.get(key).toResponseEntity().getBody());
+    }
+
+    @Test
+    void testResponseWithoutValidatorsIsNotStored() {
+        ResponseCache.Key key = key("users", 1L, "/users/1");
+
+        cache.put(key, ResponseEntity.ok(Map.of("id", 1)), cache.generation("users"));
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void testReadStartedBeforeWriteIsNotStored() {
+        ResponseCache.Key key = key("bookings", 1L, "/bookings/1");
+        long generation = cache.generation("bookings");
+
+        cache.invalidate("bookings");
+        cache.put(key, tagged("\"1\""), generation);
+
+        assertNull(cache.get(key));
+        cache.put(key, tagged("\"1\""), cache.generation("bookings"));
+        assertNotNull(cache.get(key));
+    }
+
+    @Test
+    void testWriteInvalidatesOnlyResourcesThatEmbedIt() {
+        ResponseCache.Key user = key("users", 1L, "/users/1");
+        ResponseCache.Key item = key("items", 1L, "/items/1");
+        ResponseCache.Key booking = key("bookings", 2L, "/bookings/1");
+        ResponseCache.Key request = key("requests", 1L, "/requests/1");
+        long requestGeneration = cache.generation("requests");
+        for (ResponseCache.Key key : new ResponseCache.Key[]{user, item, booking, request}) {
+            cache.put(key, tagged("\"1\""), 0);
+        }
+
+        cache.invalidate("bookings");
+
+        assertNotNull(cache.get(user));
+        assertNull(cache.get(item));
+        assertNull(cache.get(booking));
+        assertNotNull(cache.get(request));
+        assertEquals(requestGeneration, cache.generation("requests"));
+    }
+
+    private static ResponseCache.Key key(String resource, Long userId, String path) {
+        return new ResponseCache.Key(resource, userId, URI.create("http://localhost:8090" + path));
+    }
+
+    private static ResponseEntity<Object> tagged(String etag) {
+        return ResponseEntity.ok().eTag(etag).body(Map.of("id", 1));
+    }
+}
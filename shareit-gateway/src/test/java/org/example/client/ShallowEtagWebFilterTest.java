@@ -0,0 +1,71 @@
+package org.example.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShallowEtagWebFilterTest {
+    private static final String BODY = "{\"id\":1}";
+
+    private final ShallowEtagWebFilter filter = new ShallowEtagWebFilter();
+
+    @Test
+    void testJsonResponseGetsEtag() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+
+        filter.filter(exchange, respond(MediaType.APPLICATION_JSON)).block();
+
+        assertNotNull(exchange.getResponse().getHeaders().getETag());
+        assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testMatchingIfNoneMatchReturnsNotModified() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1"));
+        filter.filter(first, respond(MediaType.APPLICATION_JSON)).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/users/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(second, respond(MediaType.APPLICATION_JSON)).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getResponse().getStatusCode());
+        assertEquals(etag, second.getResponse().getHeaders().getETag());
+        assertTrue(second.getResponse().getBodyAsString().blockOptional().orElse("").isEmpty());
+    }
+
+    @Test
+    void testStreamsAndWritesAreNotTagged() {
+        MockServerWebExchange stream = MockServerWebExchange.from(MockServerHttpRequest.get("/bookings"));
+        MockServerWebExchange write = MockServerWebExchange.from(MockServerHttpRequest.post("/users"));
+
+        filter.filter(stream, respond(MediaType.APPLICATION_NDJSON)).block();
+        filter.filter(write, respond(MediaType.APPLICATION_JSON)).block();
+
+        assertNull(stream.getResponse().getHeaders().getETag());
+        assertEquals(BODY, stream.getResponse().getBodyAsString().block());
+        assertNull(write.getResponse().getHeaders().getETag());
+    }
+
+    private static WebFilterChain respond(MediaType contentType) {
+        return exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().setContentType(contentType);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    private final int index;
+    private final int status;
+    private final T body;
+    private final String error;
+
+    public static <T> BatchResult<T> created(int index, T body) {
+        return new BatchResult<>(index, HttpStatus.CREATED.value(), body, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, HttpStatus status, String error) {
+        return new BatchResult<>(index, status.value(), null, error);
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.booking;
+
+import org.example.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+class ApprovedIntervals {
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> intervals = new HashMap<>();
+
+    ApprovedIntervals(Collection<Booking> approved) {
+        approved.forEach(booking -> intervals.computeIfAbsent(booking.getItem().getId(), id -> new TreeMap<>())
+                .put(booking.getStart(), booking.getEnd()));
+    }
+
+    boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = intervals.get(itemId);
+        if (itemIntervals == null) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> latestBefore = itemIntervals.lowerEntry(end);
+        return latestBefore != null && latestBefore.getValue().isAfter(start);
+    }
+}
@@ -1,84 +1,91 @@
 package org.example.booking;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.example.batch.BatchResult;
 import org.example.booking.model.Booking;
 import org.example.booking.model.BookingDto;
 import org.example.exception.BookingStateBadRequestException;
-import org.example.exception.ColoredCRUDLogger;
+import org.example.export.NdjsonExport;
+import org.example.user.UserService;
 
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
-@Slf4j
 public class BookingController {
     private final BookingService bookingService;
+    private final UserService userService;
+    private final NdjsonExport ndjsonExport;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Booking create(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @RequestBody BookingDto bookingDto) {
-        ColoredCRUDLogger.logPost("/bookings", bookingDto.toString());
-        var result = bookingService.create(userId, bookingDto);
-        ColoredCRUDLogger.logPostComplete("/bookings", result.toString());
-        return result;
+        return bookingService.create(userId, bookingDto);
+    }
+
+    @PostMapping("/batch")
+    public List<BatchResult<BookingDto>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestBody List<BookingDto> bookingDtos) {
+        return bookingService.createAll(userId, bookingDtos);
     }
 
     @GetMapping("/{bookingId}")
     public Booking getById(@RequestHeader("X-Sharer-User-Id") Long userId,
                            @PathVariable Long bookingId) {
-        String url = String.format("/bookings/{%s}", bookingId);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        var result = bookingService.getById(userId, bookingId);
-        ColoredCRUDLogger.logGetComplete(url, result.toString());
-        return result;
+        return bookingService.getById(userId, bookingId);
     }
 
     @GetMapping()
-    public Collection<Booking> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(name = "state") String state,
-                                              @RequestParam(name = "from") int from,
-                                              @RequestParam(name = "size") int size) {
+    public ResponseEntity<List<Booking>> getAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam(name = "state") String state,
+                                                        @RequestParam(name = "from") int from,
+                                                        @RequestParam(name = "size") int size,
+                                                        @RequestParam(name = "cursor", required = false)
+                                                        String cursor) {
         if (Arrays.stream(BookingState.values()).noneMatch(e -> e.name().equals(state))) {
             throw new BookingStateBadRequestException(state);
         }
 
-        String url = String.format("/bookings?state={%s}&from{%s}&size{%s}", state, from, size);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        var result = bookingService.getAllByBooker(userId, BookingState.valueOf(state), from, size);
-        ColoredCRUDLogger.logGetComplete(url, "size=" + result.size());
-        return result;
+        if (cursor != null) {
+            return bookingService.getAllByBooker(userId, BookingState.valueOf(state), cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(bookingService.getAllByBooker(userId, BookingState.valueOf(state), from, size));
     }
 
     @GetMapping("/owner")
-    public Collection<Booking> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestParam(name = "state") String state,
-                                             @RequestParam(name = "from") int from,
-                                             @RequestParam(name = "size") int size) {
+    public ResponseEntity<List<Booking>> getAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(name = "state") String state,
+                                                       @RequestParam(name = "from") int from,
+                                                       @RequestParam(name = "size") int size,
+                                                       @RequestParam(name = "cursor", required = false)
+                                                       String cursor) {
         if (Arrays.stream(BookingState.values()).noneMatch(e -> e.name().equals(state))) {
             throw new BookingStateBadRequestException(state);
         }
 
-        String url = String.format("/bookings/owner?state={%s}&from{%s}&size{%s}", state, from, size);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        var result = bookingService.getAllByOwner(userId, BookingState.valueOf(state), from, size);
-        ColoredCRUDLogger.logGetComplete(url, "size=" + result.size());
-        return result;
+        if (cursor != null) {
+            return bookingService.getAllByOwner(userId, BookingState.valueOf(state), cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(bookingService.getAllByOwner(userId, BookingState.valueOf(state), from, size));
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        userService.getById(userId);
+        return ndjsonExport.<Booking>stream(action -> bookingService.exportAllByOwner(userId, action));
     }
 
     @PatchMapping("/{bookingId}")
     public Booking changeStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                 @PathVariable Long bookingId,
                                 @RequestParam(name = "approved") boolean approved) {
-        String url = String.format("/bookings/{%s}?approved={%s}", bookingId, approved);
-        ColoredCRUDLogger.logPatch(url, userId.toString());
-        var result = bookingService.changeStatus(userId, bookingId, approved);
-        ColoredCRUDLogger.logPatchComplete(url, result.toString());
-        return result;
+        return bookingService.changeStatus(userId, bookingId, approved);
     }
 }
@@ -2,6 +2,7 @@ package org.example.booking;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import org.example.booking.archive.BookingRecord;
 import org.example.booking.model.Booking;
 import org.example.booking.model.BookingDto;
 import org.example.item.model.Item;
@@ -21,12 +22,24 @@ public class BookingMapper {
 
     public static Booking mapToBooking(BookingDto bookingDto, Item item, User booker) {
         return Booking.builder()
-                .id(bookingDto.getId())
                 .start(bookingDto.getStart())
                 .end(bookingDto.getEnd())
                 .item(item)
+                .ownerId(item.getOwner().getId())
                 .booker(booker)
                 .status(bookingDto.getStatus())
                 .build();
     }
+
+    public static Booking mapToBooking(BookingRecord bookingRecord) {
+        return Booking.builder()
+                .id(bookingRecord.getId())
+                .start(bookingRecord.getStart())
+                .end(bookingRecord.getEnd())
+                .item(bookingRecord.getItem())
+                .ownerId(bookingRecord.getOwnerId())
+                .booker(bookingRecord.getBooker())
+                .status(bookingRecord.getStatus())
+                .build();
+    }
 }
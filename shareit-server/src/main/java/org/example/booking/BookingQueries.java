@@ -0,0 +1,49 @@
+package org.example.booking;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query fragments shared by {@link BookingRepository} and the booking_history reads in
+ * {@link org.example.booking.archive.BookingHistoryRepository}, so both tables are filtered and ordered the same way.
+ * JPQL fragments expect the booking alias {@code b}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BookingQueries {
+    public static final String FETCH_DETAILS = "JOIN FETCH b.item i " +
+            "JOIN FETCH i.owner " +
+            "JOIN FETCH b.booker " +
+            "LEFT JOIN FETCH i.request r " +
+            "LEFT JOIN FETCH r.requester ";
+
+    public static final String BY_BOOKER_AND_STATUS = "WHERE b.booker.id = :bookerId AND b.status IN :statuses ";
+    public static final String BY_OWNER_AND_STATUS = "WHERE b.ownerId = :ownerId AND b.status IN :statuses ";
+    public static final String PAST_BY_BOOKER = "WHERE b.booker.id = :bookerId AND b.end < CURRENT_TIMESTAMP ";
+    public static final String PAST_BY_OWNER = "WHERE b.ownerId = :ownerId AND b.end < CURRENT_TIMESTAMP ";
+
+    public static final String START_BEFORE_CURSOR = "AND (b.start < :start OR (b.start = :start AND b.id < :id)) ";
+    public static final String END_BEFORE_CURSOR = "AND (b.end < :end OR (b.end = :end AND b.id < :id)) ";
+
+    public static final String LATEST_START_FIRST = "ORDER BY b.start DESC, b.id DESC";
+    public static final String LATEST_END_FIRST = "ORDER BY b.end DESC, b.id DESC";
+
+    /**
+     * Native query for the last and next booking of each item, up to the name of the table the last booking is read
+     * from; the next booking always comes from bookings. Finish it with {@link #NEAREST_NEXT}.
+     */
+    public static final String NEAREST_LAST_FROM = "SELECT ranked.item_id AS \"itemId\", ranked.id AS \"id\", " +
+            "ranked.booker_id AS \"bookerId\", ranked.is_last AS \"last\" " +
+            "FROM (" +
+            "SELECT b.item_id, b.id, b.booker_id, TRUE AS is_last, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn " +
+            "FROM ";
+    public static final String NEAREST_NEXT = " b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status NOT IN (:statuses) AND b.start_date < :now " +
+            "UNION ALL " +
+            "SELECT b.item_id, b.id, b.booker_id, FALSE AS is_last, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status NOT IN (:statuses) AND b.start_date > :now" +
+            ") ranked " +
+            "WHERE ranked.rn = 1";
+}
@@ -1,89 +1,200 @@
 package org.example.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.example.booking.model.Booking;
-import org.example.booking.model.BookingShort;
+import org.example.booking.model.BookingSlot;
+import org.example.booking.model.NearestBooking;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.example.booking.BookingQueries.*;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBooker_IdAndStatusInOrderByStartDesc(Long bookerId,
-                                                                Set<BookingStatus> statusSet,
-                                                                Pageable pageable);
+    @Override
+    @EntityGraph(Booking.WITH_DETAILS)
+    Optional<Booking> findById(Long id);
+
+    @Query("SELECT new org.example.booking.model.BookingSlot(" +
+            "b.id, " +
+            "b.item.id, " +
+            "b.ownerId, " +
+            "b.start, " +
+            "b.end, " +
+            "b.status) " +
+            "FROM Booking b " +
+            "WHERE b.id = :id")
+    Optional<BookingSlot> findSlotById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b " +
+            "SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.status = :expected")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expected") BookingStatus expected,
+                     @Param("status") BookingStatus status);
+
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status = :status AND b.end > :start " +
+            "ORDER BY b.item.id, b.status, b.end")
+    List<Booking> findFirstEndingAfter(@Param("itemId") Long itemId,
+                                       @Param("status") BookingStatus status,
+                                       @Param("start") LocalDateTime start,
+                                       Pageable pageable);
+
+    List<Booking> findAllByItem_IdInAndStatusAndStartBeforeAndEndAfter(Collection<Long> itemIds,
+                                                                       BookingStatus status,
+                                                                       LocalDateTime end,
+                                                                       LocalDateTime start);
+
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            BY_BOOKER_AND_STATUS +
+            LATEST_START_FIRST)
+    Slice<Booking> findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(@Param("bookerId") Long bookerId,
+                                                                       @Param("statuses") Set<BookingStatus> statusSet,
+                                                                       Pageable pageable);
+
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            BY_BOOKER_AND_STATUS +
+            START_BEFORE_CURSOR +
+            LATEST_START_FIRST)
+    Slice<Booking> findByBooker_IdAndStatusInAfter(@Param("bookerId") Long bookerId,
+                                                   @Param("statuses") Set<BookingStatus> statusSet,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
 
     boolean existsBookingByBooker_IdAndItem_IdAndEndBeforeAndStatusNotIn(Long bookerId,
                                                                          Long itemId,
                                                                          LocalDateTime now,
                                                                          Set<BookingStatus> statusSet);
 
+    @EntityGraph(Booking.WITH_DETAILS)
     @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.booker.id = :bookerId AND b.end < CURRENT_TIMESTAMP " +
-            "ORDER BY b.end DESC")
-    Page<Booking> findPastBookingsByBooker_Id(@Param("bookerId") Long bookerId,
-                                              Pageable pageable);
+            PAST_BY_BOOKER +
+            LATEST_END_FIRST)
+    Slice<Booking> findPastBookingsByBooker_Id(@Param("bookerId") Long bookerId,
+                                               Pageable pageable);
 
+    @EntityGraph(Booking.WITH_DETAILS)
     @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId AND b.end < CURRENT_TIMESTAMP " +
-            "ORDER BY b.end DESC")
-    Page<Booking> findPastBookingsByOwner_Id(@Param("ownerId") Long ownerId,
-                                             Pageable pageable);
+            PAST_BY_BOOKER +
+            END_BEFORE_CURSOR +
+            LATEST_END_FIRST)
+    Slice<Booking> findPastBookingsByBooker_IdAfter(@Param("bookerId") Long bookerId,
+                                                    @Param("end") LocalDateTime end,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
 
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
     @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.booker.id = :bookerId AND b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP " +
-            "ORDER BY b.start ASC")
-    Page<Booking> findCurrentBookingsByBooker_Id(@Param("bookerId") Long bookerId,
-                                                 Pageable pageable);
+            FETCH_DETAILS +
+            "WHERE b.ownerId = :ownerId " +
+            "ORDER BY b.id")
+    Stream<Booking> streamAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            FETCH_DETAILS +
+            PAST_BY_OWNER +
+            LATEST_END_FIRST)
+    Slice<Booking> findPastBookingsByOwner_Id(@Param("ownerId") Long ownerId,
+                                              Pageable pageable);
 
     @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId AND b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP " +
-            "ORDER BY b.start ASC")
-    Page<Booking> findCurrentBookingsByOwner_Id(@Param("ownerId") Long ownerId,
-                                                Pageable pageable);
+            FETCH_DETAILS +
+            PAST_BY_OWNER +
+            END_BEFORE_CURSOR +
+            LATEST_END_FIRST)
+    Slice<Booking> findPastBookingsByOwner_IdAfter(@Param("ownerId") Long ownerId,
+                                                   @Param("end") LocalDateTime end,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
 
+    @EntityGraph(Booking.WITH_DETAILS)
     @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId AND b.status IN :statuses " +
-            "ORDER BY b.start DESC")
-    Page<Booking> findByOwner_IdAndStatusIn(@Param("ownerId") Long ownerId,
-                                            @Param("statuses") Set<BookingStatus> statusSet,
-                                            Pageable pageable);
+            "WHERE b.booker.id = :bookerId AND b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP " +
+            "ORDER BY b.start ASC, b.id ASC")
+    Slice<Booking> findCurrentBookingsByBooker_Id(@Param("bookerId") Long bookerId,
+                                                  Pageable pageable);
 
+    @EntityGraph(Booking.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM Booking b " +
+            "WHERE b.booker.id = :bookerId AND b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP " +
+            "AND (b.start > :start OR (b.start = :start AND b.id > :id)) " +
+            "ORDER BY b.start ASC, b.id ASC")
+    Slice<Booking> findCurrentBookingsByBooker_IdAfter(@Param("bookerId") Long bookerId,
+                                                       @Param("start") LocalDateTime start,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
 
-    @Query("SELECT new org.example.booking.model.BookingShort(b.item.id, b.id, b.booker.id) " +
+    @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.id IN :itemIds AND b.status NOT IN :statuses AND b.start < CURRENT_TIMESTAMP " +
-            "ORDER BY b.start DESC")
-    List<BookingShort> findLastBookingsByItemIdsInAndStatusNotIn(@Param("itemIds") Set<Long> itemIds,
-                                                                 @Param("statuses") Set<BookingStatus> statusSet);
+            FETCH_DETAILS +
+            "WHERE b.ownerId = :ownerId AND b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP " +
+            "ORDER BY b.start ASC, b.id ASC")
+    Slice<Booking> findCurrentBookingsByOwner_Id(@Param("ownerId") Long ownerId,
+                                                 Pageable pageable);
 
-    @Query("SELECT new org.example.booking.model.BookingShort(b.item.id, b.id, b.booker.id ) " +
+    @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.id IN :itemIds AND b.status NOT IN :statuses AND b.start > CURRENT_TIMESTAMP " +
-            "ORDER BY b.start ASC")
-    List<BookingShort> findNextBookingsByItemIdsInAndStatusNotIn(@Param("itemIds") Set<Long> itemIds,
-                                                                 @Param("statuses") Set<BookingStatus> statusSet);
+            FETCH_DETAILS +
+            "WHERE b.ownerId = :ownerId AND b.start < CURRENT_TIMESTAMP AND b.end > CURRENT_TIMESTAMP " +
+            "AND (b.start > :start OR (b.start = :start AND b.id > :id)) " +
+            "ORDER BY b.start ASC, b.id ASC")
+    Slice<Booking> findCurrentBookingsByOwner_IdAfter(@Param("ownerId") Long ownerId,
+                                                      @Param("start") LocalDateTime start,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
 
-    @Query("SELECT new org.example.booking.model.BookingShort(b.item.id, b.id, b.booker.id) " +
+    @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.id = :itemId AND b.status NOT IN :statuses AND b.start < CURRENT_TIMESTAMP " +
-            "ORDER BY b.start DESC")
-    List<BookingShort> findLastBookingsByItemIdAndStatusNotIn(@Param("itemId") Long itemId,
-                                                              @Param("statuses") Set<BookingStatus> statusSet);
+            FETCH_DETAILS +
+            BY_OWNER_AND_STATUS +
+            LATEST_START_FIRST)
+    Slice<Booking> findByOwner_IdAndStatusIn(@Param("ownerId") Long ownerId,
+                                             @Param("statuses") Set<BookingStatus> statusSet,
+                                             Pageable pageable);
 
-    @Query("SELECT new org.example.booking.model.BookingShort(b.item.id, b.id, b.booker.id ) " +
+    @Query("SELECT b " +
             "FROM Booking b " +
-            "WHERE b.item.id = :itemId AND b.status NOT IN :statuses AND b.start > CURRENT_TIMESTAMP " +
-            "ORDER BY b.start ASC")
-    List<BookingShort> findNextBookingsByItemIdAndStatusNotIn(@Param("itemId") Long itemId,
-                                                              @Param("statuses") Set<BookingStatus> statusSet);
+            FETCH_DETAILS +
+            BY_OWNER_AND_STATUS +
+            START_BEFORE_CURSOR +
+            LATEST_START_FIRST)
+    Slice<Booking> findByOwner_IdAndStatusInAfter(@Param("ownerId") Long ownerId,
+                                                  @Param("statuses") Set<BookingStatus> statusSet,
+                                                  @Param("start") LocalDateTime start,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query(value = NEAREST_LAST_FROM + "bookings" + NEAREST_NEXT, nativeQuery = true)
+    List<NearestBooking> findNearestBookingsByItemIdIn(@Param("itemIds") Set<Long> itemIds,
+                                                       @Param("statuses") Set<String> statusSet,
+                                                       @Param("now") LocalDateTime now);
 }
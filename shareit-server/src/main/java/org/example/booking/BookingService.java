@@ -1,18 +1,29 @@
 package org.example.booking;
 
+import org.example.batch.BatchResult;
 import org.example.booking.model.Booking;
 import org.example.booking.model.BookingDto;
+import org.example.pagination.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     Booking create(Long userId, BookingDto bookingDto);
 
+    List<BatchResult<BookingDto>> createAll(Long userId, List<BookingDto> bookingDtos);
+
     Booking changeStatus(Long userId, Long bookingId, boolean approved);
 
     Booking getById(Long userId, Long bookingId);
 
     List<Booking> getAllByBooker(Long bookerId, BookingState state, int from, int size);
 
+    CursorPage<Booking> getAllByBooker(Long bookerId, BookingState state, String cursor, int size);
+
     List<Booking> getAllByOwner(Long ownerId, BookingState state, int from, int size);
+
+    CursorPage<Booking> getAllByOwner(Long ownerId, BookingState state, String cursor, int size);
+
+    void exportAllByOwner(Long ownerId, Consumer<Booking> action);
 }
@@ -1,38 +1,75 @@
 package org.example.booking;
 
-import io.vavr.Function3;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.example.batch.BatchResult;
+import org.example.booking.archive.BookingArchive;
 import org.example.booking.model.Booking;
 import org.example.booking.model.BookingDto;
+import org.example.booking.model.BookingSlot;
 import org.example.exception.*;
 import org.example.item.ItemRepository;
 import org.example.item.model.Item;
+import org.example.pagination.CursorPage;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.OffsetPageRequest;
 import org.example.user.UserRepository;
 import org.example.user.model.User;
 
-import java.util.HashSet;
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int EXPORT_CLEAR_INTERVAL = 500;
+    private static final String OVERLAP_MESSAGE = "Вещь уже забронирована на эти даты";
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final BookingArchive bookingArchive;
 
     private User userExistCheck(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Для операций бронирования нужно создать пользователя"));
     }
 
+    private void userPresentCheck(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Для операций бронирования нужно создать пользователя");
+        }
+    }
+
+    private void overlapCheck(Long itemId, LocalDateTime start, LocalDateTime end) {
+        bookingRepository.findFirstEndingAfter(itemId, BookingStatus.APPROVED, start, OffsetPageRequest.of(0, 1))
+                .stream()
+                .filter(approved -> approved.getStart().isBefore(end))
+                .findFirst()
+                .ifPresent(approved -> {
+                    throw new BookingConflictException(OVERLAP_MESSAGE);
+                });
+    }
+
+    @Transactional
     @Override
     public Booking create(Long bookerId, BookingDto bookingDto) {
         User user = userExistCheck(bookerId);
@@ -44,16 +81,66 @@ public class BookingServiceImpl implements BookingService {
         if (bookerId.equals(item.getOwner().getId())) {
             throw new BookingNotFoundException("Владелец вещи не может её бронировать");
         }
+        overlapCheck(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         bookingDto.setStatus(BookingStatus.WAITING);
         return bookingRepository.save(BookingMapper.mapToBooking(bookingDto, item, user));
     }
 
+    @Transactional
+    @Override
+    public List<BatchResult<BookingDto>> createAll(Long bookerId, List<BookingDto> bookingDtos) {
+        User user = userExistCheck(bookerId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemIds.isEmpty() ? Collections.emptyMap() :
+                itemRepository.findAllById(itemIds).stream()
+                        .collect(Collectors.toMap(Item::getId, Function.identity()));
+        ApprovedIntervals approved = findApprovedIntervals(items.keySet(), bookingDtos);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BatchResult<BookingDto>> results = new ArrayList<>(Collections.nCopies(bookingDtos.size(), null));
+        List<Integer> positions = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            Item item = bookingDto.getItemId() == null ? null : items.get(bookingDto.getItemId());
+            String error = validateForCreate(bookingDto, now);
+            if (error != null) {
+                results.set(i, BatchResult.failed(i, HttpStatus.BAD_REQUEST, error));
+            } else if (item == null) {
+                results.set(i, BatchResult.failed(i, HttpStatus.NOT_FOUND, "Вещь не найдена"));
+            } else if (!item.getAvailable()) {
+                results.set(i, BatchResult.failed(i, HttpStatus.BAD_REQUEST, "Попытка бронирования недоступной вещи"));
+            } else if (bookerId.equals(item.getOwner().getId())) {
+                results.set(i, BatchResult.failed(i, HttpStatus.NOT_FOUND, "Владелец вещи не может её бронировать"));
+            } else if (approved.overlaps(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+                results.set(i, BatchResult.failed(i, HttpStatus.CONFLICT, OVERLAP_MESSAGE));
+            } else {
+                bookingDto.setStatus(BookingStatus.WAITING);
+                positions.add(i);
+                bookings.add(BookingMapper.mapToBooking(bookingDto, item, user));
+            }
+        }
+
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        for (int i = 0; i < saved.size(); i++) {
+            results.set(positions.get(i), BatchResult.created(positions.get(i),
+                    BookingMapper.mapToBookingDto(saved.get(i))));
+        }
+        return results;
+    }
+
+    @Transactional
     @Override
     public Booking changeStatus(Long itemOwnerId, Long bookingId, boolean approved) {
-        userExistCheck(itemOwnerId);
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
-                new BookingNotFoundException("Бронирование не найдено"));
-        if (!itemOwnerId.equals(booking.getItem().getOwner().getId())) {
+        BookingSlot booking = bookingRepository.findSlotById(bookingId).orElse(null);
+        if (booking == null || !itemOwnerId.equals(booking.getOwnerId())) {
+            userPresentCheck(itemOwnerId);
+            if (booking == null) {
+                throw new BookingNotFoundException("Бронирование не найдено");
+            }
             throw new OwnerNotFoundException(
                     "Попытка смены статуса бронирования от пользователя НЕ являющегося владельцем вещи");
         }
@@ -61,142 +148,194 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus().equals(status)) {
             throw new BookingStateBadRequestException("Такой статус уже присвоен");
         }
-        booking.setStatus(status);
-        return bookingRepository.save(booking);
+        if (status == BookingStatus.APPROVED) {
+            itemRepository.lockById(booking.getItemId());
+            overlapCheck(booking.getItemId(), booking.getStart(), booking.getEnd());
+        }
+        if (bookingRepository.updateStatus(bookingId, booking.getStatus(), status) == 0) {
+            throw new BookingConflictException("Статус бронирования уже изменён другим запросом");
+        }
+        Booking updated = bookingRepository.findById(bookingId).orElseThrow(() ->
+                new BookingNotFoundException("Бронирование не найдено"));
+        if (updated.getStatus() != status) {
+            // Loaded earlier in this persistence context, so the bulk update bypassed it.
+            entityManager.refresh(updated);
+        }
+        return updated;
     }
 
     @Override
     public Booking getById(Long userId, Long bookingId) {
-        userExistCheck(userId);
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
-                new BookingNotFoundException("Бронирование не найдено"));
-        if (userId.equals(booking.getItem().getOwner().getId()) || userId.equals(booking.getBooker().getId())) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .or(() -> bookingArchive.isEnabled() ? bookingArchive.findById(bookingId) : Optional.empty())
+                .orElse(null);
+        if (booking != null
+                && (userId.equals(booking.getItem().getOwner().getId()) || userId.equals(booking.getBooker().getId()))) {
             return booking;
         }
+        userPresentCheck(userId);
+        if (booking == null) {
+            throw new BookingNotFoundException("Бронирование не найдено");
+        }
         throw new OwnerNotFoundException(
                 "Попытка просмотра бронирования от пользователя НЕ являющегося owner или booker");
     }
 
     @Override
     public List<Booking> getAllByBooker(Long bookerId, BookingState state, int from, int size) {
+        return findAllByBooker(bookerId, state, from, size).getContent();
+    }
+
+    @Override
+    public CursorPage<Booking> getAllByBooker(Long bookerId, BookingState state, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, true);
+        if (after == null) {
+            return toCursorPage(findAllByBooker(bookerId, state, 0, size), state);
+        }
         userExistCheck(bookerId);
-        Set<BookingStatus> statusSet = new HashSet<>();
+        Pageable page = OffsetPageRequest.of(0, size);
+        Slice<Booking> bookings;
         switch (state) {
             case PAST:
-                return callFunctionWithPagination(
-                        from, size, bookingRepository::findPastBookingsByBooker_Id, bookerId);
+                bookings = bookingArchive.isEnabled()
+                        ? bookingArchive.findPastByBookerAfter(bookerId, after.getPosition(), after.getId(), page)
+                        : bookingRepository.findPastBookingsByBooker_IdAfter(
+                                bookerId, after.getPosition(), after.getId(), page);
+                break;
             case CURRENT:
-                return callFunctionWithPagination(
-                        from, size, bookingRepository::findCurrentBookingsByBooker_Id, bookerId);
+                bookings = bookingRepository.findCurrentBookingsByBooker_IdAfter(
+                        bookerId, after.getPosition(), after.getId(), page);
+                break;
             default:
-                stateSwitch(state, statusSet);
+                bookings = bookingArchive.isEnabled()
+                        ? bookingArchive.findByBookerAfter(
+                                bookerId, state.statuses(), after.getPosition(), after.getId(), page)
+                        : bookingRepository.findByBooker_IdAndStatusInAfter(
+                                bookerId, state.statuses(), after.getPosition(), after.getId(), page);
         }
-        return callFunctionWithPagination(
-                from, size, bookingRepository::findAllByBooker_IdAndStatusInOrderByStartDesc, bookerId, statusSet);
+        return toCursorPage(bookings, state);
     }
 
     @Override
     public List<Booking> getAllByOwner(Long ownerId, BookingState state, int from, int size) {
+        return findAllByOwner(ownerId, state, from, size).getContent();
+    }
+
+    @Override
+    public CursorPage<Booking> getAllByOwner(Long ownerId, BookingState state, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, true);
+        if (after == null) {
+            return toCursorPage(findAllByOwner(ownerId, state, 0, size), state);
+        }
         userExistCheck(ownerId);
-        Set<BookingStatus> statusSet = new HashSet<>();
+        Pageable page = OffsetPageRequest.of(0, size);
+        Slice<Booking> bookings;
         switch (state) {
             case PAST:
-                return callFunctionWithPagination(
-                        from, size, bookingRepository::findPastBookingsByOwner_Id, ownerId);
+                bookings = bookingArchive.isEnabled()
+                        ? bookingArchive.findPastByOwnerAfter(ownerId, after.getPosition(), after.getId(), page)
+                        : bookingRepository.findPastBookingsByOwner_IdAfter(
+                                ownerId, after.getPosition(), after.getId(), page);
+                break;
             case CURRENT:
-                return callFunctionWithPagination(
-                        from, size, bookingRepository::findCurrentBookingsByOwner_Id, ownerId);
+                bookings = bookingRepository.findCurrentBookingsByOwner_IdAfter(
+                        ownerId, after.getPosition(), after.getId(), page);
+                break;
             default:
-                stateSwitch(state, statusSet);
+                bookings = bookingArchive.isEnabled()
+                        ? bookingArchive.findByOwnerAfter(
+                                ownerId, state.statuses(), after.getPosition(), after.getId(), page)
+                        : bookingRepository.findByOwner_IdAndStatusInAfter(
+                                ownerId, state.statuses(), after.getPosition(), after.getId(), page);
         }
-        return callFunctionWithPagination(from, size, bookingRepository::findByOwner_IdAndStatusIn, ownerId, statusSet);
+        return toCursorPage(bookings, state);
     }
 
-    private void stateSwitch(BookingState state, Set<BookingStatus> statusSet) {
-        switch (state) {
-            case WAITING:
-                statusSet.add(BookingStatus.WAITING);
-                break;
-            case REJECTED:
-                statusSet.add(BookingStatus.REJECTED);
-                break;
-            case FUTURE:
-                statusSet.add(BookingStatus.APPROVED);
-                statusSet.add(BookingStatus.WAITING);
-                break;
-            case ALL:
-                statusSet.add(BookingStatus.WAITING);
-                statusSet.add(BookingStatus.APPROVED);
-                statusSet.add(BookingStatus.REJECTED);
-                statusSet.add(BookingStatus.CANCELED);
-                break;
+    @Override
+    public void exportAllByOwner(Long ownerId, Consumer<Booking> action) {
+        userExistCheck(ownerId);
+        try (Stream<Booking> bookings = bookingArchive.isEnabled()
+                ? bookingArchive.streamAllByOwnerId(ownerId)
+                : bookingRepository.streamAllByOwnerId(ownerId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            for (int exported = 1; iterator.hasNext(); exported++) {
+                action.accept(iterator.next());
+                if (exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
         }
     }
 
-    private List<Booking> callFunctionWithPagination(int from, int size, BiFunction<Long,
-            Pageable, Page<Booking>> repositoryMethod, Long userId) {
-        if (from % size == 0) {
-            return repositoryMethod.apply(userId, PageRequest.of(from / size, size)).getContent();
+    private ApprovedIntervals findApprovedIntervals(Set<Long> itemIds, List<BookingDto> bookingDtos) {
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (BookingDto bookingDto : bookingDtos) {
+            if (bookingDto.getStart() != null && bookingDto.getEnd() != null) {
+                from = from == null || bookingDto.getStart().isBefore(from) ? bookingDto.getStart() : from;
+                to = to == null || bookingDto.getEnd().isAfter(to) ? bookingDto.getEnd() : to;
+            }
         }
-
-        int startPage = from / size;
-        double nextPageElPercent = (double) from / size - startPage;
-        int countOfNextPageEl = (int) Math.ceil(nextPageElPercent * size);
-        int countOfStartPageEl = size - countOfNextPageEl;
-
-        Pageable page = PageRequest.of(startPage, size);
-        Page<Booking> bookingsPage = repositoryMethod.apply(userId, page);
-        List<Booking> bookingsList = bookingsPage.getContent();
-
-        if (bookingsList.isEmpty()) {
-            return bookingsList;
+        if (itemIds.isEmpty() || from == null) {
+            return new ApprovedIntervals(Collections.emptyList());
         }
+        return new ApprovedIntervals(bookingRepository.findAllByItem_IdInAndStatusAndStartBeforeAndEndAfter(
+                itemIds, BookingStatus.APPROVED, to, from));
+    }
 
-        List<Booking> startPageBookings = bookingsList.subList(bookingsList.size() - countOfStartPageEl,
-                bookingsList.size());
-
-        if (bookingsPage.hasNext()) {
-            page = PageRequest.of(startPage + 1, size);
-            bookingsPage = repositoryMethod.apply(userId, page);
-            List<Booking> nextPageBookings = bookingsPage.getContent().subList(0, countOfNextPageEl);
-            return Stream.concat(
-                    startPageBookings.stream(),
-                    nextPageBookings.stream()).collect(Collectors.toList());
+    private Slice<Booking> findAllByBooker(Long bookerId, BookingState state, int from, int size) {
+        userExistCheck(bookerId);
+        Pageable page = OffsetPageRequest.of(from, size);
+        switch (state) {
+            case PAST:
+                return bookingArchive.isEnabled()
+                        ? bookingArchive.findPastByBooker(bookerId, page)
+                        : bookingRepository.findPastBookingsByBooker_Id(bookerId, page);
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsByBooker_Id(bookerId, page);
+            default:
+                return bookingArchive.isEnabled()
+                        ? bookingArchive.findByBooker(bookerId, state.statuses(), page)
+                        : bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(
+                                bookerId, state.statuses(), page);
         }
-        return startPageBookings;
     }
 
-    private List<Booking> callFunctionWithPagination(int from, int size, Function3<Long,
-            Set<BookingStatus>, Pageable, Page<Booking>> repositoryMethod, Long userId, Set<BookingStatus> statusSet) {
-        if (from % size == 0) {
-            return repositoryMethod.apply(userId, statusSet, PageRequest.of(from / size, size)).getContent();
+    private Slice<Booking> findAllByOwner(Long ownerId, BookingState state, int from, int size) {
+        userExistCheck(ownerId);
+        Pageable page = OffsetPageRequest.of(from, size);
+        switch (state) {
+            case PAST:
+                return bookingArchive.isEnabled()
+                        ? bookingArchive.findPastByOwner(ownerId, page)
+                        : bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
+            case CURRENT:
+                return bookingRepository.findCurrentBookingsByOwner_Id(ownerId, page);
+            default:
+                return bookingArchive.isEnabled()
+                        ? bookingArchive.findByOwner(ownerId, state.statuses(), page)
+                        : bookingRepository.findByOwner_IdAndStatusIn(ownerId, state.statuses(), page);
         }
+    }
 
-        int startPage = from / size;
-        double nextPageElPercent = (double) from / size - startPage;
-        int countOfNextPageEl = (int) Math.ceil(nextPageElPercent * size);
-        int countOfStartPageEl = size - countOfNextPageEl;
-
-        Pageable page = PageRequest.of(startPage, size);
-        Page<Booking> bookingsPage = repositoryMethod.apply(userId, statusSet, page);
-        List<Booking> bookingsList = bookingsPage.getContent();
+    private CursorPage<Booking> toCursorPage(Slice<Booking> bookings, BookingState state) {
+        return CursorPage.of(bookings.getContent(), bookings.hasNext(), booking -> KeysetCursor.of(
+                state == BookingState.PAST ? booking.getEnd() : booking.getStart(), booking.getId()));
+    }
 
-        if (bookingsList.isEmpty()) {
-            return bookingsList;
+    private String validateForCreate(BookingDto bookingDto, LocalDateTime now) {
+        if (bookingDto.getItemId() == null) {
+            return "Не указана вещь для бронирования";
         }
-
-        List<Booking> startPageBookings = bookingsList.subList(bookingsList.size() - countOfStartPageEl,
-                bookingsList.size());
-
-        if (bookingsPage.hasNext()) {
-            page = PageRequest.of(startPage + 1, size);
-            bookingsPage = repositoryMethod.apply(userId, statusSet, page);
-            List<Booking> nextPageBookings = bookingsPage.getContent().subList(0, countOfNextPageEl);
-            return Stream.concat(
-                    startPageBookings.stream(),
-                    nextPageBookings.stream()).collect(Collectors.toList());
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+            return "Не указаны даты бронирования";
         }
-
-        return startPageBookings;
+        if (!bookingDto.getStart().isAfter(now)) {
+            return "Дата начала бронирования должна быть в будущем";
+        }
+        if (!bookingDto.isStartDateBeforeEndDate()) {
+            return "Дата начала бронирования должна быть раньше даты окончания";
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,29 @@
 package org.example.booking;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum BookingState {
     ALL,
     CURRENT,
     PAST,
     FUTURE,
     WAITING,
-    REJECTED
+    REJECTED;
+
+    public Set<BookingStatus> statuses() {
+        switch (this) {
+            case WAITING:
+                return EnumSet.of(BookingStatus.WAITING);
+            case REJECTED:
+                return EnumSet.of(BookingStatus.REJECTED);
+            case FUTURE:
+                return EnumSet.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+            case ALL:
+                return EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED, BookingStatus.REJECTED,
+                        BookingStatus.CANCELED);
+            default:
+                return EnumSet.noneOf(BookingStatus.class);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package org.example.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.example.booking.model.Booking;
+import org.example.exception.BookingStateBadRequestException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.Arrays;
+
+/**
+ * Serves booking listings requested with {@code Accept: application/x-ndjson} from R2DBC, streaming rows as the
+ * database produces them. JSON requests and all writes stay on {@link BookingController}.
+ */
+@RestController
+@Validated
+@RequestMapping(path = "/bookings", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@ConditionalOnProperty(name = "shareit.bookings.reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+    private final ReactiveBookingService bookingService;
+
+    @GetMapping()
+    public Flux<Booking> streamAllByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                           @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                           @RequestParam(name = "size") @Positive int size) {
+        return bookingService.getAllByBooker(userId, toState(state), from, size);
+    }
+
+    @GetMapping("/owner")
+    public Flux<Booking> streamAllByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                          @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                          @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero int from,
+                                          @RequestParam(name = "size") @Positive int size) {
+        return bookingService.getAllByOwner(userId, toState(state), from, size);
+    }
+
+    private BookingState toState(String state) {
+        if (Arrays.stream(BookingState.values()).noneMatch(e -> e.name().equals(state))) {
+            throw new BookingStateBadRequestException(state);
+        }
+        return BookingState.valueOf(state);
+    }
+}
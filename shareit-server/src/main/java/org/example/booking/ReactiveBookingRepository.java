@@ -0,0 +1,119 @@
+package org.example.booking;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.example.booking.archive.BookingArchive;
+import org.example.booking.model.Booking;
+import org.example.item.model.Item;
+import org.example.request.model.ItemRequest;
+import org.example.user.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@Repository
+@ConditionalOnProperty(name = "shareit.bookings.reactive-reads.enabled", havingValue = "true")
+public class ReactiveBookingRepository {
+    private static final String SELECT_DETAILS = "SELECT b.id, b.start_date, b.end_date, b.status, " +
+            "i.id AS item_id, i.name AS item_name, i.description AS item_description, i.is_available, " +
+            "o.id AS owner_id, o.name AS owner_name, o.email AS owner_email, " +
+            "u.id AS booker_id, u.name AS booker_name, u.email AS booker_email, " +
+            "r.id AS request_id, r.description AS request_description, r.created_date AS request_created, " +
+            "q.id AS requester_id, q.name AS requester_name, q.email AS requester_email " +
+            "FROM %s b " +
+            "JOIN items i ON i.id = b.item_id " +
+            "JOIN users o ON o.id = b.owner_id " +
+            "JOIN users u ON u.id = b.booker_id " +
+            "LEFT JOIN requests r ON r.id = i.request_id " +
+            "LEFT JOIN users q ON q.id = r.requester_id ";
+
+    private final DatabaseClient databaseClient;
+    private final String selectDetails;
+
+    public ReactiveBookingRepository(ConnectionFactory connectionFactory, BookingArchive bookingArchive) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.selectDetails = String.format(SELECT_DETAILS, bookingArchive.isEnabled() ? "booking_history" : "bookings");
+    }
+
+    public Mono<Boolean> existsUserById(Long userId) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM users WHERE id = :id)")
+                .bind("id", userId)
+                .map(row -> Boolean.TRUE.equals(row.get(0, Boolean.class)))
+                .one();
+    }
+
+    public Flux<Booking> findAllByBooker(Long bookerId, BookingState state, long from, int size) {
+        return findAll("b.booker_id", bookerId, state, from, size);
+    }
+
+    public Flux<Booking> findAllByOwner(Long ownerId, BookingState state, long from, int size) {
+        return findAll("b.owner_id", ownerId, state, from, size);
+    }
+
+    private Flux<Booking> findAll(String userColumn, Long userId, BookingState state, long from, int size) {
+        StringBuilder sql = new StringBuilder(selectDetails).append("WHERE ").append(userColumn).append(" = :userId ");
+        switch (state) {
+            case PAST:
+                sql.append("AND b.end_date < CURRENT_TIMESTAMP ORDER BY b.end_date DESC, b.id DESC ");
+                break;
+            case CURRENT:
+                sql.append("AND b.start_date < CURRENT_TIMESTAMP AND b.end_date > CURRENT_TIMESTAMP " +
+                        "ORDER BY b.start_date ASC, b.id ASC ");
+                break;
+            default:
+                sql.append("AND b.status IN (:statuses) ORDER BY b.start_date DESC, b.id DESC ");
+        }
+        sql.append("OFFSET :from ROWS FETCH FIRST :size ROWS ONLY");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("userId", userId)
+                .bind("from", from)
+                .bind("size", size);
+        if (state != BookingState.PAST && state != BookingState.CURRENT) {
+            spec = spec.bind("statuses", state.statuses().stream().map(Enum::name).collect(Collectors.toList()));
+        }
+        return spec.map((row, metadata) -> mapToBooking(row)).all();
+    }
+
+    private static Booking mapToBooking(Row row) {
+        ItemRequest request = null;
+        Long requestId = row.get("request_id", Long.class);
+        if (requestId != null) {
+            request = ItemRequest.builder()
+                    .id(requestId)
+                    .description(row.get("request_description", String.class))
+                    .created(row.get("request_created", LocalDateTime.class))
+                    .requester(row.get("requester_id", Long.class) == null ? null : mapToUser(row, "requester"))
+                    .build();
+        }
+        Item item = Item.builder()
+                .id(row.get("item_id", Long.class))
+                .name(row.get("item_name", String.class))
+                .description(row.get("item_description", String.class))
+                .available(row.get("is_available", Boolean.class))
+                .owner(mapToUser(row, "owner"))
+                .request(request)
+                .build();
+        return Booking.builder()
+                .id(row.get("id", Long.class))
+                .start(row.get("start_date", LocalDateTime.class))
+                .end(row.get("end_date", LocalDateTime.class))
+                .status(BookingStatus.valueOf(row.get("status", String.class)))
+                .item(item)
+                .booker(mapToUser(row, "booker"))
+                .build();
+    }
+
+    private static User mapToUser(Row row, String prefix) {
+        return User.builder()
+                .id(row.get(prefix + "_id", Long.class))
+                .name(row.get(prefix + "_name", String.class))
+                .email(row.get(prefix + "_email", String.class))
+                .build();
+    }
+}
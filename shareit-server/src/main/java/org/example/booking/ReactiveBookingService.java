@@ -0,0 +1,32 @@
+package org.example.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.example.booking.model.Booking;
+import org.example.exception.UserNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "shareit.bookings.reactive-reads.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveBookingService {
+    private final ReactiveBookingRepository bookingRepository;
+
+    public Flux<Booking> getAllByBooker(Long bookerId, BookingState state, int from, int size) {
+        return userPresentCheck(bookerId)
+                .thenMany(Flux.defer(() -> bookingRepository.findAllByBooker(bookerId, state, from, size)));
+    }
+
+    public Flux<Booking> getAllByOwner(Long ownerId, BookingState state, int from, int size) {
+        return userPresentCheck(ownerId)
+                .thenMany(Flux.defer(() -> bookingRepository.findAllByOwner(ownerId, state, from, size)));
+    }
+
+    private Mono<Void> userPresentCheck(Long userId) {
+        return bookingRepository.existsUserById(userId)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.error(
+                        new UserNotFoundException("Для операций бронирования нужно создать пользователя")));
+    }
+}
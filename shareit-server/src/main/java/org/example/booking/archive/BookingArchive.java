@@ -0,0 +1,90 @@
+package org.example.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.booking.BookingMapper;
+import org.example.booking.BookingStatus;
+import org.example.booking.model.Booking;
+import org.example.booking.model.NearestBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the bookings archive. While archiving is enabled, reads that can reach archived rows go through the
+ * booking_history view instead of the bookings table. CURRENT bookings never reach the archive and stay on bookings;
+ * the status listings (ALL, FUTURE, WAITING, REJECTED) do not bound the end date, so they read the view and rely on the
+ * archive's start_date indexes.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingArchive {
+    private final BookingHistoryRepository historyRepository;
+    private final BookingArchiveProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Optional<Booking> findById(Long id) {
+        return historyRepository.findById(id).map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findByBooker(Long bookerId, Set<BookingStatus> statuses, Pageable page) {
+        return historyRepository.findByBooker_IdAndStatusIn(bookerId, statuses, page)
+                .map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findByBookerAfter(Long bookerId, Set<BookingStatus> statuses, LocalDateTime start, Long id,
+                                            Pageable page) {
+        return historyRepository.findByBooker_IdAndStatusInAfter(bookerId, statuses, start, id, page)
+                .map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findPastByBooker(Long bookerId, Pageable page) {
+        return historyRepository.findPastBookingsByBooker_Id(bookerId, page).map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findPastByBookerAfter(Long bookerId, LocalDateTime end, Long id, Pageable page) {
+        return historyRepository.findPastBookingsByBooker_IdAfter(bookerId, end, id, page)
+                .map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findByOwner(Long ownerId, Set<BookingStatus> statuses, Pageable page) {
+        return historyRepository.findByOwner_IdAndStatusIn(ownerId, statuses, page)
+                .map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findByOwnerAfter(Long ownerId, Set<BookingStatus> statuses, LocalDateTime start, Long id,
+                                           Pageable page) {
+        return historyRepository.findByOwner_IdAndStatusInAfter(ownerId, statuses, start, id, page)
+                .map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findPastByOwner(Long ownerId, Pageable page) {
+        return historyRepository.findPastBookingsByOwner_Id(ownerId, page).map(BookingMapper::mapToBooking);
+    }
+
+    public Slice<Booking> findPastByOwnerAfter(Long ownerId, LocalDateTime end, Long id, Pageable page) {
+        return historyRepository.findPastBookingsByOwner_IdAfter(ownerId, end, id, page)
+                .map(BookingMapper::mapToBooking);
+    }
+
+    public Stream<Booking> streamAllByOwnerId(Long ownerId) {
+        return historyRepository.streamAllByOwnerId(ownerId).map(BookingMapper::mapToBooking);
+    }
+
+    public boolean hasFinishedBooking(Long bookerId, Long itemId, Set<BookingStatus> excluded) {
+        return historyRepository.existsByBooker_IdAndItem_IdAndEndBeforeAndStatusNotIn(bookerId, itemId,
+                LocalDateTime.now(), excluded);
+    }
+
+    public List<NearestBooking> findNearestBookings(Set<Long> itemIds, Set<String> excluded, LocalDateTime now) {
+        return historyRepository.findNearestBookingsByItemIdIn(itemIds, excluded, now);
+    }
+}
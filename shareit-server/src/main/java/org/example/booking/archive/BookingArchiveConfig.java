@@ -0,0 +1,30 @@
+package org.example.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableConfigurationProperties(BookingArchiveProperties.class)
+public class BookingArchiveConfig {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "shareit.bookings.archive.enabled", havingValue = "true")
+    @RequiredArgsConstructor
+    static class Schedule implements SchedulingConfigurer {
+        private final BookingArchiver archiver;
+        private final BookingArchiveProperties properties;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar registrar) {
+            long interval = properties.getInterval().toMillis();
+            registrar.addFixedDelayTask(new IntervalTask(archiver::archive, interval, interval));
+        }
+    }
+}
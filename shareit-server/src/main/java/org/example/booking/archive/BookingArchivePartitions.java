@@ -0,0 +1,48 @@
+package org.example.booking.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the monthly end_date partitions of bookings_archive on Postgres. Partitions are created before rows are
+ * moved into them, so the default partition stays empty and never blocks a new range.
+ */
+@Component
+public class BookingArchivePartitions {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean partitioned;
+    private final Set<YearMonth> created = ConcurrentHashMap.newKeySet();
+
+    public BookingArchivePartitions(JdbcTemplate jdbcTemplate, @Value("${spring.datasource.url}") String url) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitioned = DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL;
+    }
+
+    public void createMonths(LocalDateTime from, LocalDateTime to) {
+        if (!partitioned) {
+            return;
+        }
+        YearMonth last = YearMonth.from(to);
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!created.contains(month)) {
+                jdbcTemplate.execute(partitionDdl(month));
+                created.add(month);
+            }
+        }
+    }
+
+    static String partitionDdl(YearMonth month) {
+        return String.format("CREATE TABLE IF NOT EXISTS bookings_archive_%s PARTITION OF bookings_archive " +
+                "FOR VALUES FROM ('%s') TO ('%s')", month.format(SUFFIX), month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+}
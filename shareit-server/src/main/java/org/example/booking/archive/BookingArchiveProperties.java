@@ -0,0 +1,17 @@
+package org.example.booking.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.bookings.archive")
+public class BookingArchiveProperties {
+    private boolean enabled = false;
+    private Duration horizon = Duration.ofDays(180);
+    private Duration interval = Duration.ofHours(1);
+    private int batchSize = 1000;
+}
@@ -0,0 +1,40 @@
+package org.example.booking.archive;
+
+import org.example.booking.model.Booking;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingArchiveRepository extends Repository<Booking, Long> {
+    @Query("SELECT MIN(b.end) " +
+            "FROM Booking b " +
+            "WHERE b.end < :cutoff")
+    Optional<LocalDateTime> findOldestEndBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "SELECT id " +
+            "FROM bookings " +
+            "WHERE end_date < :cutoff " +
+            "ORDER BY end_date, id " +
+            "FETCH FIRST :limit ROWS ONLY " +
+            "FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsEndingBefore(@Param("cutoff") LocalDateTime cutoff,
+                                   @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive " +
+            "(id, start_date, end_date, item_id, booker_id, owner_id, status, version) " +
+            "SELECT id, start_date, end_date, item_id, booker_id, owner_id, status, version " +
+            "FROM bookings " +
+            "WHERE id IN :ids", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN :ids", nativeQuery = true)
+    int deleteFromBookings(@Param("ids") Collection<Long> ids);
+}
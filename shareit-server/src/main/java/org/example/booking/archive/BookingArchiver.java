@@ -0,0 +1,62 @@
+package org.example.booking.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Moves bookings that ended before the configured horizon from bookings to bookings_archive, oldest first and one
+ * batch per transaction.
+ */
+@Component
+@Slf4j
+public class BookingArchiver {
+    private final BookingArchiveRepository archiveRepository;
+    private final BookingArchivePartitions partitions;
+    private final BookingArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingArchiver(BookingArchiveRepository archiveRepository,
+                           BookingArchivePartitions partitions,
+                           BookingArchiveProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.archiveRepository = archiveRepository;
+        this.partitions = partitions;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getHorizon());
+        Optional<LocalDateTime> oldest = archiveRepository.findOldestEndBefore(cutoff);
+        if (oldest.isEmpty()) {
+            return 0;
+        }
+        partitions.createMonths(oldest.get(), cutoff);
+
+        int archived = 0;
+        int moved;
+        do {
+            moved = Objects.requireNonNull(transactionTemplate.execute(status -> moveBatch(cutoff)));
+            archived += moved;
+        } while (moved == properties.getBatchSize());
+        log.info("Archived {} bookings ended before {}", archived, cutoff);
+        return archived;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = archiveRepository.lockIdsEndingBefore(cutoff, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.copyFromBookings(ids);
+        archiveRepository.deleteFromBookings(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.booking.archive;
+
+import org.example.booking.BookingStatus;
+import org.example.booking.model.NearestBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.example.booking.BookingQueries.*;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface BookingHistoryRepository extends Repository<BookingRecord, Long> {
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    Optional<BookingRecord> findById(Long id);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            BY_BOOKER_AND_STATUS +
+            LATEST_START_FIRST)
+    Slice<BookingRecord> findByBooker_IdAndStatusIn(@Param("bookerId") Long bookerId,
+                                                    @Param("statuses") Set<BookingStatus> statusSet,
+                                                    Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            BY_BOOKER_AND_STATUS +
+            START_BEFORE_CURSOR +
+            LATEST_START_FIRST)
+    Slice<BookingRecord> findByBooker_IdAndStatusInAfter(@Param("bookerId") Long bookerId,
+                                                         @Param("statuses") Set<BookingStatus> statusSet,
+                                                         @Param("start") LocalDateTime start,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            PAST_BY_BOOKER +
+            LATEST_END_FIRST)
+    Slice<BookingRecord> findPastBookingsByBooker_Id(@Param("bookerId") Long bookerId,
+                                                     Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            PAST_BY_BOOKER +
+            END_BEFORE_CURSOR +
+            LATEST_END_FIRST)
+    Slice<BookingRecord> findPastBookingsByBooker_IdAfter(@Param("bookerId") Long bookerId,
+                                                          @Param("end") LocalDateTime end,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            BY_OWNER_AND_STATUS +
+            LATEST_START_FIRST)
+    Slice<BookingRecord> findByOwner_IdAndStatusIn(@Param("ownerId") Long ownerId,
+                                                   @Param("statuses") Set<BookingStatus> statusSet,
+                                                   Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            BY_OWNER_AND_STATUS +
+            START_BEFORE_CURSOR +
+            LATEST_START_FIRST)
+    Slice<BookingRecord> findByOwner_IdAndStatusInAfter(@Param("ownerId") Long ownerId,
+                                                        @Param("statuses") Set<BookingStatus> statusSet,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            PAST_BY_OWNER +
+            LATEST_END_FIRST)
+    Slice<BookingRecord> findPastBookingsByOwner_Id(@Param("ownerId") Long ownerId,
+                                                    Pageable pageable);
+
+    @EntityGraph(BookingRecord.WITH_DETAILS)
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            PAST_BY_OWNER +
+            END_BEFORE_CURSOR +
+            LATEST_END_FIRST)
+    Slice<BookingRecord> findPastBookingsByOwner_IdAfter(@Param("ownerId") Long ownerId,
+                                                         @Param("end") LocalDateTime end,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT b " +
+            "FROM BookingRecord b " +
+            FETCH_DETAILS +
+            "WHERE b.ownerId = :ownerId " +
+            "ORDER BY b.id")
+    Stream<BookingRecord> streamAllByOwnerId(@Param("ownerId") Long ownerId);
+
+    boolean existsByBooker_IdAndItem_IdAndEndBeforeAndStatusNotIn(Long bookerId, Long itemId, LocalDateTime end,
+                                                                 Set<BookingStatus> statusSet);
+
+    @Query(value = NEAREST_LAST_FROM + "booking_history" + NEAREST_NEXT, nativeQuery = true)
+    List<NearestBooking> findNearestBookingsByItemIdIn(@Param("itemIds") Set<Long> itemIds,
+                                                       @Param("statuses") Set<String> statusSet,
+                                                       @Param("now") LocalDateTime now);
+}
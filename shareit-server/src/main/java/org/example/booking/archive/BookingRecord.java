@@ -0,0 +1,56 @@
+package org.example.booking.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.booking.BookingStatus;
+import org.example.item.model.Item;
+import org.example.user.model.User;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A booking read through the booking_history view, which unions the hot bookings table with bookings_archive.
+ */
+@Data
+@Builder
+@Entity
+@Immutable
+@Table(name = "booking_history", schema = "public")
+@NamedEntityGraph(name = BookingRecord.WITH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode(value = "request", subgraph = "request")
+                }),
+                @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requester"))
+        })
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingRecord {
+    public static final String WITH_DETAILS = "BookingRecord.withDetails";
+
+    @Id
+    private Long id;
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id")
+    private User booker;
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+}
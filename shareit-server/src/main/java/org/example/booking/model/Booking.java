@@ -1,6 +1,7 @@
 package org.example.booking.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,11 +17,26 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "bookings", schema = "public")
+@NamedEntityGraph(name = Booking.WITH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item", attributeNodes = {
+                        @NamedAttributeNode("owner"),
+                        @NamedAttributeNode(value = "request", subgraph = "request")
+                }),
+                @NamedSubgraph(name = "request", attributeNodes = @NamedAttributeNode("requester"))
+        })
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String WITH_DETAILS = "Booking.withDetails";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", schema = "public", allocationSize = 50)
     private Long id;
     @Column(name = "start_date", nullable = false)
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -31,9 +47,23 @@ public class Booking {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
+    @Column(name = "owner_id", nullable = false)
+    @JsonIgnore
+    private Long ownerId;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    // Owner queries filter on this copy of items.owner_id; items never change owner.
+    @PrePersist
+    private void copyItemOwner() {
+        if (ownerId == null && item != null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
 }
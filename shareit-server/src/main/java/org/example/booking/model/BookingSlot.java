@@ -0,0 +1,20 @@
+package org.example.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import org.example.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class BookingSlot {
+    private Long id;
+    private Long itemId;
+    private Long ownerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+}
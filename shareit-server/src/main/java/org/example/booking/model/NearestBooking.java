@@ -0,0 +1,11 @@
+package org.example.booking.model;
+
+public interface NearestBooking {
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    Boolean getLast();
+}
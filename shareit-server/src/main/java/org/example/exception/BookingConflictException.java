@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class CursorBadRequestException extends RuntimeException {
+    public CursorBadRequestException(String cursor) {
+        super("Unknown cursor: " + cursor);
+    }
+}
@@ -1,85 +1,89 @@
 package org.example.item;
 
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.example.exception.ColoredCRUDLogger;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.example.batch.BatchResult;
+import org.example.export.NdjsonExport;
 import org.example.item.comment.CommentDto;
 import org.example.item.model.ItemDto;
 import org.example.item.model.ItemGetDto;
+import org.example.item.model.ItemShort;
+import org.example.user.UserService;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
-@Slf4j
 public class ItemController {
     private final ItemService itemService;
+    private final UserService userService;
+    private final NdjsonExport ndjsonExport;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemDto create(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @RequestBody ItemDto itemDto) {
-        ColoredCRUDLogger.logPost("/items", itemDto.toString());
-        var result = itemService.create(userId, itemDto);
-        ColoredCRUDLogger.logPostComplete("/items", result.toString());
-        return result;
+        return itemService.create(userId, itemDto);
+    }
+
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestBody List<ItemDto> itemDtos) {
+        return itemService.createAll(userId, itemDtos);
     }
 
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") Long userId,
                                  @PathVariable Long itemId,
                                  @RequestBody CommentDto comDto) {
-        String url = String.format("/items/{%s}/comment", itemId);
-        ColoredCRUDLogger.logPost(url, comDto.toString());
-        var result = itemService.addComment(userId, itemId, comDto);
-        ColoredCRUDLogger.logPostComplete(url, result.toString());
-        return result;
+        return itemService.addComment(userId, itemId, comDto);
     }
 
     @GetMapping
-    public List<ItemGetDto> getAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                           @RequestParam(name = "from") int from,
-                                           @RequestParam(name = "size") int size) {
-        String url = String.format("/items?from{%s}&size{%s}", from, size);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        var result = itemService.getAllByOwnerId(userId, from, size);
-        ColoredCRUDLogger.logGetComplete(url, "size=" + result.size());
-        return result;
+    public ResponseEntity<List<ItemGetDto>> getAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(name = "from") int from,
+                                                           @RequestParam(name = "size") int size,
+                                                           @RequestParam(name = "cursor", required = false)
+                                                           String cursor) {
+        if (cursor != null) {
+            return itemService.getAllByOwnerId(userId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemService.getAllByOwnerId(userId, from, size));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        userService.getById(userId);
+        return ndjsonExport.<ItemShort>stream(action -> itemService.exportAllByOwnerId(userId, action));
     }
 
     @GetMapping("/search")
-    public List<ItemDto> getFromSearch(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                       @RequestParam(name = "text") String text,
-                                       @RequestParam(name = "from") int from,
-                                       @RequestParam(name = "size") int size) {
-        String url = String.format("/items/search?from{%s}&size{%s}", from, size);
-        ColoredCRUDLogger.logGet(url, text);
-        var result = itemService.getFromSearch(userId, text, from, size);
-        ColoredCRUDLogger.logGetComplete(url, "size=" + result.size());
-        return result;
+    public ResponseEntity<List<ItemDto>> getFromSearch(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @RequestParam(name = "text") String text,
+                                                       @RequestParam(name = "from") int from,
+                                                       @RequestParam(name = "size") int size,
+                                                       @RequestParam(name = "cursor", required = false)
+                                                       String cursor) {
+        if (cursor != null) {
+            return itemService.getFromSearch(userId, text, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemService.getFromSearch(userId, text, from, size));
     }
 
     @GetMapping("/{itemId}")
     public ItemGetDto getById(@RequestHeader("X-Sharer-User-Id") Long userId,
                               @PathVariable Long itemId) {
-        String url = String.format("/items/{%s}", itemId);
-        ColoredCRUDLogger.logGet(url, userId.toString());
-        var result = itemService.getById(userId, itemId);
-        ColoredCRUDLogger.logGetComplete(url, result.toString());
-        return result;
+        return itemService.getById(userId, itemId);
     }
 
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") Long userId,
                           @PathVariable Long itemId,
                           @RequestBody ItemDto itemDto) {
-        String url = String.format("/items/{%s}", itemId);
-        ColoredCRUDLogger.logPatch(url, itemDto.toString());
-        var result = itemService.update(userId, itemId, itemDto);
-        ColoredCRUDLogger.logPatchComplete(url, result.toString());
-        return result;
+        return itemService.update(userId, itemId, itemDto);
     }
 }
\ No newline at end of file
@@ -3,7 +3,10 @@ package org.example.item;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.example.booking.model.BookingShort;
+import org.example.booking.model.NearestBooking;
+import org.example.item.comment.Comment;
 import org.example.item.comment.CommentDto;
+import org.example.item.comment.CommentMapper;
 import org.example.item.model.Item;
 import org.example.item.model.ItemDto;
 import org.example.item.model.ItemGetDto;
@@ -11,7 +14,11 @@ import org.example.request.model.ItemRequest;
 import org.example.user.model.User;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ItemMapper {
@@ -33,23 +40,37 @@ public class ItemMapper {
         return dtos;
     }
 
-    public static ItemGetDto mapToItemGetDto(Item item, List<BookingShort> lastBooking, List<BookingShort> nextBooking,
+    public static List<ItemGetDto> mapToItemGetDto(List<Item> items, List<NearestBooking> nearest,
+                                                   Iterable<Comment> comments) {
+        Map<Long, List<Comment>> commentsByItem = StreamSupport.stream(comments.spliterator(), false)
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items.stream()
+                .map(item -> mapToItemGetDto(item, nearest,
+                        CommentMapper.mapToCommentDto(
+                                commentsByItem.getOrDefault(item.getId(), Collections.emptyList()))))
+                .collect(Collectors.toList());
+    }
+
+    public static ItemGetDto mapToItemGetDto(Item item, List<NearestBooking> nearest, List<CommentDto> comments) {
+        return mapToItemGetDto(item, pickBooking(nearest, item.getId(), true),
+                pickBooking(nearest, item.getId(), false), comments);
+    }
+
+    public static ItemGetDto mapToItemGetDto(Item item, BookingShort lastBooking, BookingShort nextBooking,
                                              List<CommentDto> comments) {
         return ItemGetDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .lastBooking(lastBooking.isEmpty() ? null : lastBooking.get(0))
-                .nextBooking(nextBooking.isEmpty() ? null : nextBooking.get(0))
+                .lastBooking(lastBooking)
+                .nextBooking(nextBooking)
                 .comments(comments)
                 .build();
     }
 
-
     public static Item mapToItem(ItemDto itemDto, User owner, ItemRequest request) {
         return Item.builder()
-                .id(itemDto.getId())
                 .name(itemDto.getName())
                 .description(itemDto.getDescription())
                 .available(itemDto.getAvailable())
@@ -57,4 +78,12 @@ public class ItemMapper {
                 .request(request)
                 .build();
     }
-}
\ No newline at end of file
+
+    private static BookingShort pickBooking(List<NearestBooking> nearest, Long itemId, boolean last) {
+        return nearest.stream()
+                .filter(booking -> itemId.equals(booking.getItemId()) && booking.getLast() == last)
+                .findFirst()
+                .map(booking -> new BookingShort(booking.getItemId(), booking.getId(), booking.getBookerId()))
+                .orElse(null);
+    }
+}
@@ -1,19 +1,57 @@
 package org.example.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.example.item.model.Item;
 import org.example.item.model.ItemShort;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    Page<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
+    @Override
+    @EntityGraph(Item.WITH_DETAILS)
+    Optional<Item> findById(Long id);
+
+    @Query(value = "SELECT id FROM items WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(Long id);
+
+    Slice<Item> findByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
+
+    Slice<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable pageable);
 
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("SELECT new org.example.item.model.ItemShort(" +
+            "it.id, " +
+            "it.name, " +
+            "it.description, " +
+            "it.request.id, " +
+            "it.available) " +
+            "FROM Item as it " +
+            "WHERE it.owner.id = :ownerId " +
+            "ORDER BY it.id")
+    Stream<ItemShort> streamAllByOwnerId(Long ownerId);
+
+    @Query("SELECT new org.example.item.model.ItemShort(" +
+            "it.id, " +
+            "it.name, " +
+            "it.description, " +
+            "it.request.id, " +
+            "it.available) " +
+            "FROM Item as it " +
+            "WHERE it.request.id IN :requestIds")
     List<ItemShort> findAllByRequestIdIn(Set<Long> requestIds);
 
     @Query("SELECT new org.example.item.model.ItemShort(" +
@@ -30,6 +68,27 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "from Item as it " +
             "where it.available is true and " +
             "(upper(it.name) like upper(concat('%', ?1, '%')) or " +
-            "upper(it.description) like upper(concat('%', ?1, '%'))) ")
-    Page<Item> searchTextInNameOrDescription(String text, Pageable pageable);
+            "upper(it.description) like upper(concat('%', ?1, '%'))) " +
+            "order by it.id")
+    Slice<Item> searchTextInNameOrDescription(String text, Pageable pageable);
+
+    @Query("select it " +
+            "from Item as it " +
+            "where it.available is true and " +
+            "(upper(it.name) like upper(concat('%', ?1, '%')) or " +
+            "upper(it.description) like upper(concat('%', ?1, '%'))) and " +
+            "it.id > ?2 " +
+            "order by it.id")
+    Slice<Item> searchTextInNameOrDescriptionAfter(String text, Long id, Pageable pageable);
+
+    @Query("select it " +
+            "from Item as it " +
+            "where it.available is true and " +
+            "(upper(it.name) like upper(concat('%', ?1, '%')) or " +
+            "upper(it.description) like upper(concat('%', ?1, '%'))) and " +
+            "it.id in ?2 " +
+            "order by it.id")
+    List<Item> searchTextInNameOrDescriptionIn(String text, Collection<Long> ids);
+
+    Slice<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,20 +1,32 @@
 package org.example.item;
 
+import org.example.batch.BatchResult;
 import org.example.item.comment.CommentDto;
 import org.example.item.model.ItemDto;
 import org.example.item.model.ItemGetDto;
+import org.example.item.model.ItemShort;
+import org.example.pagination.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto create(Long userId, ItemDto itemDto);
 
+    List<BatchResult<ItemDto>> createAll(Long userId, List<ItemDto> itemDtos);
+
     CommentDto addComment(Long userId, Long itemId, CommentDto comDto);
 
     List<ItemGetDto> getAllByOwnerId(Long userId, int from, int size);
 
+    CursorPage<ItemGetDto> getAllByOwnerId(Long userId, String cursor, int size);
+
+    void exportAllByOwnerId(Long userId, Consumer<ItemShort> action);
+
     List<ItemDto> getFromSearch(Long userId, String text, int from, int size);
 
+    CursorPage<ItemDto> getFromSearch(Long userId, String text, String cursor, int size);
+
     ItemGetDto getById(Long userId, Long itemId);
 
     ItemDto update(Long userId, Long itemId, ItemDto newItem);
@@ -1,13 +1,15 @@
 package org.example.item;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.example.batch.BatchResult;
 import org.example.booking.BookingRepository;
 import org.example.booking.BookingStatus;
-import org.example.booking.model.BookingShort;
+import org.example.booking.archive.BookingArchive;
+import org.example.booking.model.NearestBooking;
 import org.example.exception.ItemBadRequestException;
 import org.example.exception.ItemNotFoundException;
 import org.example.exception.ItemRequestNotFoundException;
@@ -19,38 +21,63 @@ import org.example.item.comment.CommentRepository;
 import org.example.item.model.Item;
 import org.example.item.model.ItemDto;
 import org.example.item.model.ItemGetDto;
+import org.example.item.model.ItemShort;
+import org.example.item.search.ItemSearchEngine;
+import org.example.pagination.CursorPage;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.OffsetPageRequest;
+import org.example.query.QueryFanOut;
 import org.example.request.ItemRequestRepository;
 import org.example.request.model.ItemRequest;
 import org.example.user.UserRepository;
 import org.example.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final Set<String> EXCLUDED_STATUSES = Set.of(BookingStatus.REJECTED.name(),
+            BookingStatus.CANCELED.name());
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final QueryFanOut queryFanOut;
+    private final BookingArchive bookingArchive;
 
     private User userExistCheck(Long userId) {
         return userRepository.findById(userId).orElseThrow(() ->
                 new UserNotFoundException("Для операций c вещами/комментариями нужно создать пользователя"));
     }
 
+    private void userPresentCheck(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Для операций c вещами/комментариями нужно создать пользователя");
+        }
+    }
+
     private Item itemExistCheck(Long itemId) {
         return itemRepository.findById(itemId).orElseThrow(() ->
                 new ItemNotFoundException("Вещь не найдена"));
     }
 
+    @Transactional
     @Override
     public ItemDto create(Long userId, ItemDto itemDto) {
         User user = userExistCheck(userId);
@@ -59,17 +86,59 @@ public class ItemServiceImpl implements ItemService {
                         new ItemRequestNotFoundException("Запрос не найден"));
 
         Item item = itemRepository.save(ItemMapper.mapToItem(itemDto, user, request));
+        itemSearchEngine.index(item);
         return ItemMapper.mapToItemDto(item);
     }
 
+    @Transactional
+    @Override
+    public List<BatchResult<ItemDto>> createAll(Long userId, List<ItemDto> itemDtos) {
+        User user = userExistCheck(userId);
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Collections.emptyMap() :
+                requestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        List<Integer> positions = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            String error = validateForCreate(itemDto);
+            if (error != null) {
+                results.set(i, BatchResult.failed(i, HttpStatus.BAD_REQUEST, error));
+            } else if (itemDto.getRequestId() != null && !requests.containsKey(itemDto.getRequestId())) {
+                results.set(i, BatchResult.failed(i, HttpStatus.NOT_FOUND, "Запрос не найден"));
+            } else {
+                positions.add(i);
+                items.add(ItemMapper.mapToItem(itemDto, user, requests.get(itemDto.getRequestId())));
+            }
+        }
+
+        List<Item> saved = itemRepository.saveAll(items);
+        for (int i = 0; i < saved.size(); i++) {
+            Item item = saved.get(i);
+            itemSearchEngine.index(item);
+            results.set(positions.get(i), BatchResult.created(positions.get(i), ItemMapper.mapToItemDto(item)));
+        }
+        return results;
+    }
+
+    @Transactional
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto comDto) {
         Set<BookingStatus> stateSet = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
         User user = userExistCheck(userId);
         Item item = itemExistCheck(itemId);
 
-        if (!bookingRepository.existsBookingByBooker_IdAndItem_IdAndEndBeforeAndStatusNotIn(userId, itemId,
-                LocalDateTime.now(), stateSet)) {
+        boolean finished = bookingArchive.isEnabled()
+                ? bookingArchive.hasFinishedBooking(userId, itemId, stateSet)
+                : bookingRepository.existsBookingByBooker_IdAndItem_IdAndEndBeforeAndStatusNotIn(userId, itemId,
+                        LocalDateTime.now(), stateSet);
+        if (!finished) {
             throw new ItemBadRequestException("Отзыв невозможен, если не было букинга или букинг не закончен");
         }
         Comment comment = commentRepository.save(CommentMapper.mapToComment(comDto, user, item));
@@ -79,60 +148,79 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemGetDto> getAllByOwnerId(Long userId, int from, int size) {
         userExistCheck(userId);
-        Set<BookingStatus> statusSet = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+        Slice<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(userId, OffsetPageRequest.of(from, size));
+        return mapToItemGetDtos(items.getContent());
+    }
 
-        List<Item> items = findByOwnerIdOrderByIdAscWithPagination(userId, from, size);
+    @Override
+    public CursorPage<ItemGetDto> getAllByOwnerId(Long userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, false);
+        userExistCheck(userId);
+        Slice<Item> items = after == null
+                ? itemRepository.findByOwnerIdOrderByIdAsc(userId, OffsetPageRequest.of(0, size))
+                : itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, after.getId(),
+                OffsetPageRequest.of(0, size));
+        return CursorPage.of(mapToItemGetDtos(items.getContent()), items.hasNext(),
+                item -> KeysetCursor.of(item.getId()));
+    }
 
-        Set<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toSet());
-        Map<Long, List<BookingShort>> lastBookings = bookingRepository
-                .findLastBookingsByItemIdsInAndStatusNotIn(itemIds, statusSet).stream()
-                .collect(Collectors.groupingBy(BookingShort::getItemId));
-        Map<Long, List<BookingShort>> nextBookings = bookingRepository
-                .findNextBookingsByItemIdsInAndStatusNotIn(itemIds, statusSet).stream()
-                .collect(Collectors.groupingBy(BookingShort::getItemId));
-        Map<Long, List<Comment>> comments = commentRepository
-                .findAllByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
-
-        return items.stream()
-                .map(item -> ItemMapper.mapToItemGetDto(item,
-                        lastBookings.getOrDefault(item.getId(), Collections.emptyList()),
-                        nextBookings.getOrDefault(item.getId(), Collections.emptyList()),
-                        CommentMapper.mapToCommentDto(comments.getOrDefault(item.getId(), Collections.emptyList()))))
-                .collect(Collectors.toList());
+    @Override
+    public void exportAllByOwnerId(Long userId, Consumer<ItemShort> action) {
+        userExistCheck(userId);
+        try (Stream<ItemShort> items = itemRepository.streamAllByOwnerId(userId)) {
+            items.forEach(action);
+        }
     }
 
     @Override
     public List<ItemDto> getFromSearch(Long userId, String text, int from, int size) {
         if (text.isBlank()) return Collections.emptyList();
         userExistCheck(userId);
-        List<Item> items = searchTextInNameOrDescriptionWithPagination(text, from, size);
-        return ItemMapper.mapToItemDto(items);
+        Slice<Item> items = itemSearchEngine.search(text, OffsetPageRequest.of(from, size));
+        return ItemMapper.mapToItemDto(items.getContent());
+    }
+
+    @Override
+    public CursorPage<ItemDto> getFromSearch(Long userId, String text, String cursor, int size) {
+        if (text.isBlank()) return new CursorPage<>(Collections.emptyList(), null);
+        KeysetCursor after = KeysetCursor.decode(cursor, false);
+        userExistCheck(userId);
+        Slice<Item> items = after == null
+                ? itemSearchEngine.search(text, OffsetPageRequest.of(0, size))
+                : itemSearchEngine.searchAfter(text, after.getId(), OffsetPageRequest.of(0, size));
+        return CursorPage.of(ItemMapper.mapToItemDto(items.getContent()), items.hasNext(),
+                item -> KeysetCursor.of(item.getId()));
     }
 
     @Override
     public ItemGetDto getById(Long userId, Long itemId) {
-        Set<BookingStatus> statusSet = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
         userExistCheck(userId);
         Item item = itemExistCheck(itemId);
-        Pageable page = PageRequest.of(0, 1);
+        CompletableFuture<List<Comment>> comments = queryFanOut.fork(() ->
+                commentRepository.findAllByItemId(itemId));
 
         boolean isOwner = userId.equals(item.getOwner().getId());
-        List<BookingShort> last = isOwner ? bookingRepository.findLastBookingsByItemIdAndStatusNotIn(itemId, statusSet)
-                : Collections.emptyList();
-        List<BookingShort> next = isOwner ? bookingRepository.findNextBookingsByItemIdAndStatusNotIn(itemId, statusSet)
-                : Collections.emptyList();
-        List<CommentDto> comms = CommentMapper.mapToCommentDto(commentRepository.findAllByItemId(itemId));
-        return ItemMapper.mapToItemGetDto(item, last, next, comms);
+        List<NearestBooking> nearest = isOwner ? findNearestBookings(Set.of(itemId)) : Collections.emptyList();
+        List<CommentDto> comms = CommentMapper.mapToCommentDto(queryFanOut.join(comments));
+        return ItemMapper.mapToItemGetDto(item, nearest, comms);
     }
 
+    @Transactional
     @Override
     public ItemDto update(Long userId, Long itemId, ItemDto newItem) {
-        userExistCheck(userId);
-        Item item = itemExistCheck(itemId);
-        if (!userId.equals(item.getOwner().getId())) {
+        Item item = itemRepository.findById(itemId).orElse(null);
+        if (item == null || !userId.equals(item.getOwner().getId())) {
+            userPresentCheck(userId);
+            if (item == null) {
+                throw new ItemNotFoundException("Вещь не найдена");
+            }
             throw new UserNotFoundException("Вещь может обновить только владелец");
         }
+        Item previous = Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .build();
         if (newItem.getName() != null) {
             item.setName(newItem.getName());
         }
@@ -143,72 +231,36 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(newItem.getAvailable());
         }
         Item updatedItem = itemRepository.save(item);
+        itemSearchEngine.reindex(previous, updatedItem);
         return ItemMapper.mapToItemDto(updatedItem);
     }
 
-    private List<Item> findByOwnerIdOrderByIdAscWithPagination(Long userId, int from, int size) {
-        if (from % size == 0) {
-            return itemRepository.findByOwnerIdOrderByIdAsc(userId, PageRequest.of(from / size, size))
-                    .getContent();
-        }
-
-        int startPage = from / size;
-        double nextPageElPercent = (double) from / size - startPage;
-        int countOfNextPageEl = (int) Math.ceil(nextPageElPercent * size);
-        int countOfStartPageEl = size - countOfNextPageEl;
-
-        Pageable page = PageRequest.of(startPage, size);
-        Page<Item> itemsPage = itemRepository.findByOwnerIdOrderByIdAsc(userId, page);
-        List<Item> itemsList = itemsPage.getContent();
-
-        if (itemsList.isEmpty()) {
-            return itemsList;
-        }
-
-        List<Item> startPageItems = itemsList.subList(itemsList.size() - countOfStartPageEl, itemsList.size());
-
-        if (itemsPage.hasNext()) {
-            page = PageRequest.of(startPage + 1, size);
-            itemsPage = itemRepository.findByOwnerIdOrderByIdAsc(userId, page);
-            List<Item> nextPageItems = itemsPage.getContent().subList(0, countOfNextPageEl);
-            return Stream.concat(
-                    startPageItems.stream(),
-                    nextPageItems.stream()).collect(Collectors.toList());
-        }
+    private List<ItemGetDto> mapToItemGetDtos(List<Item> items) {
+        if (items.isEmpty()) return Collections.emptyList();
+        Set<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toSet());
+        CompletableFuture<List<Comment>> comments = queryFanOut.fork(() ->
+                commentRepository.findAllByItemIdIn(itemIds));
+        List<NearestBooking> nearest = findNearestBookings(itemIds);
+        return ItemMapper.mapToItemGetDto(items, nearest, queryFanOut.join(comments));
+    }
 
-        return startPageItems;
+    private List<NearestBooking> findNearestBookings(Set<Long> itemIds) {
+        if (itemIds.isEmpty()) return Collections.emptyList();
+        return bookingArchive.isEnabled()
+                ? bookingArchive.findNearestBookings(itemIds, EXCLUDED_STATUSES, LocalDateTime.now())
+                : bookingRepository.findNearestBookingsByItemIdIn(itemIds, EXCLUDED_STATUSES, LocalDateTime.now());
     }
 
-    private List<Item> searchTextInNameOrDescriptionWithPagination(String text, int from, int size) {
-        if (from % size == 0) {
-            return itemRepository.searchTextInNameOrDescription(text, PageRequest.of(from / size, size))
-                    .getContent();
+    private String validateForCreate(ItemDto itemDto) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название вещи не может быть пустым";
         }
-
-        int startPage = from / size;
-        double nextPageElPercent = (double) from / size - startPage;
-        int countOfNextPageEl = (int) Math.ceil(nextPageElPercent * size);
-        int countOfStartPageEl = size - countOfNextPageEl;
-
-        Pageable page = PageRequest.of(startPage, size);
-        Page<Item> itemsPage = itemRepository.searchTextInNameOrDescription(text, page);
-        List<Item> itemsList = itemsPage.getContent();
-
-        if (itemsList.isEmpty()) {
-            return itemsList;
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание вещи не может быть пустым";
         }
-
-        List<Item> startPageItems = itemsList.subList(itemsList.size() - countOfStartPageEl, itemsList.size());
-
-        if (itemsPage.hasNext()) {
-            page = PageRequest.of(startPage + 1, size);
-            itemsPage = itemRepository.searchTextInNameOrDescription(text, page);
-            List<Item> nextPageItems = itemsPage.getContent().subList(0, countOfNextPageEl);
-            return Stream.concat(
-                    startPageItems.stream(),
-                    nextPageItems.stream()).collect(Collectors.toList());
+        if (itemDto.getAvailable() == null) {
+            return "Не указана доступность вещи";
         }
-
-        return startPageItems;
+        return null;
     }
 }
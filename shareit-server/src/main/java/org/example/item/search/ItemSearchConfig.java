@@ -0,0 +1,30 @@
+package org.example.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableConfigurationProperties(ItemSearchProperties.class)
+public class ItemSearchConfig {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+    @RequiredArgsConstructor
+    static class Rebuild implements SchedulingConfigurer {
+        private final TrigramItemSearchEngine searchEngine;
+        private final ItemSearchProperties properties;
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar registrar) {
+            long interval = properties.getRebuildInterval().toMillis();
+            registrar.addFixedDelayTask(new IntervalTask(searchEngine::rebuild, interval, interval));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.item.search;
+
+import org.example.item.model.Item;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface ItemSearchEngine {
+    Slice<Item> search(String text, Pageable pageable);
+
+    Slice<Item> searchAfter(String text, Long id, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    /**
+     * Re-indexes an updated item; {@code previous} carries the name and description it had before the update.
+     */
+    default void reindex(Item previous, Item item) {
+        index(item);
+    }
+}
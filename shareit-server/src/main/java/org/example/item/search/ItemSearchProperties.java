@@ -0,0 +1,15 @@
+package org.example.item.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.search")
+public class ItemSearchProperties {
+    private String engine = "sql";
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,26 @@
+package org.example.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.example.item.ItemRepository;
+import org.example.item.model.Item;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchTextInNameOrDescription(text, pageable);
+    }
+
+    @Override
+    public Slice<Item> searchAfter(String text, Long id, Pageable pageable) {
+        return itemRepository.searchTextInNameOrDescriptionAfter(text, id, pageable);
+    }
+}
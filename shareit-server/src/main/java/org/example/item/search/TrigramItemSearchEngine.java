@@ -0,0 +1,330 @@
+package org.example.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.item.ItemRepository;
+import org.example.item.model.Item;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram index that narrows the SQL search to candidate ids. Each trigram maps to a sorted {@code long[]}
+ * of item ids; writes replace the arrays they touch and a rebuild swaps in a whole new map, so searches never lock.
+ * The index is local to this JVM: writes from other instances only show up after the periodic {@link #rebuild()},
+ * so use it with a single server instance.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+    private static final int CHUNK = 500;
+
+    private final ItemRepository itemRepository;
+    private final SqlItemSearchEngine fallback;
+    private final Object writeLock = new Object();
+    private volatile Map<Long, long[]> postings = new ConcurrentHashMap<>();
+    private List<Consumer<Map<Long, long[]>>> pending;
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+        this.fallback = new SqlItemSearchEngine(itemRepository);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        synchronized (writeLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Map<Long, long[]> fresh = scan();
+            synchronized (writeLock) {
+                // Writes that raced with the scan are replayed, so the swap cannot lose them.
+                pending.forEach(change -> change.accept(fresh));
+                postings = fresh;
+            }
+        } finally {
+            synchronized (writeLock) {
+                pending = null;
+            }
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        Long id = item.getId();
+        Set<Long> trigrams = trigrams(item);
+        write(target -> add(target, id, trigrams));
+    }
+
+    @Override
+    public void reindex(Item previous, Item item) {
+        Long id = item.getId();
+        Set<Long> trigrams = trigrams(item);
+        Set<Long> stale = trigrams(previous);
+        stale.removeAll(trigrams);
+        write(target -> {
+            add(target, id, trigrams);
+            remove(target, id, stale);
+        });
+    }
+
+    @Override
+    public Slice<Item> search(String text, Pageable pageable) {
+        if (text.length() < GRAM || !foldsPerChar(text)) {
+            return fallback.search(text, pageable);
+        }
+        return verify(text, candidates(text, 0L), pageable);
+    }
+
+    @Override
+    public Slice<Item> searchAfter(String text, Long id, Pageable pageable) {
+        if (text.length() < GRAM || !foldsPerChar(text)) {
+            return fallback.searchAfter(text, id, pageable);
+        }
+        return verify(text, candidates(text, id), pageable);
+    }
+
+    Iterator<Long> candidates(String text, Long afterId) {
+        Map<Long, long[]> postings = this.postings;
+        List<long[]> lists = new ArrayList<>();
+        String folded = text.toUpperCase(Locale.ROOT);
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            long[] ids = postings.get(trigram(folded, i));
+            if (ids == null) {
+                return Collections.emptyIterator();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        return new Intersection(lists, afterId);
+    }
+
+    // Candidates are intersected lazily and checked in chunks, so a frequent text stops after the first page.
+    private Slice<Item> verify(String text, Iterator<Long> candidates, Pageable pageable) {
+        long skip = pageable.getOffset();
+        int limit = pageable.getPageSize() + 1;
+        List<Item> found = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(CHUNK);
+        while (candidates.hasNext() && found.size() < limit) {
+            chunk.clear();
+            while (candidates.hasNext() && chunk.size() < CHUNK) {
+                chunk.add(candidates.next());
+            }
+            for (Item item : itemRepository.searchTextInNameOrDescriptionIn(text, chunk)) {
+                if (skip > 0) {
+                    skip--;
+                } else if (found.size() < limit) {
+                    found.add(item);
+                }
+            }
+        }
+        boolean hasNext = found.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? found.subList(0, pageable.getPageSize()) : found, pageable, hasNext);
+    }
+
+    // Ids come in ascending order, so appending keeps every posting list sorted.
+    private Map<Long, long[]> scan() {
+        Map<Long, PostingsBuilder> builders = new HashMap<>();
+        long count = 0;
+        Slice<Item> items = itemRepository.findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, CHUNK));
+        while (!items.isEmpty()) {
+            for (Item item : items) {
+                for (Long trigram : trigrams(item)) {
+                    builders.computeIfAbsent(trigram, key -> new PostingsBuilder()).add(item.getId());
+                }
+            }
+            count += items.getNumberOfElements();
+            Long last = items.getContent().get(items.getNumberOfElements() - 1).getId();
+            items = itemRepository.findAllByIdGreaterThanOrderByIdAsc(last, PageRequest.of(0, CHUNK));
+        }
+        Map<Long, long[]> fresh = new ConcurrentHashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((trigram, builder) -> fresh.put(trigram, builder.toArray()));
+        log.info("Trigram index built: {} items, {} trigrams", count, fresh.size());
+        return fresh;
+    }
+
+    // Each posting list is replaced, never changed in place, so readers holding the old array see a consistent copy.
+    private void write(Consumer<Map<Long, long[]>> change) {
+        synchronized (writeLock) {
+            change.accept(postings);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    private static void add(Map<Long, long[]> postings, long id, Set<Long> trigrams) {
+        for (Long trigram : trigrams) {
+            long[] ids = postings.get(trigram);
+            if (ids == null) {
+                postings.put(trigram, new long[]{id});
+                continue;
+            }
+            int at = Arrays.binarySearch(ids, id);
+            if (at < 0) {
+                at = -at - 1;
+                long[] result = new long[ids.length + 1];
+                System.arraycopy(ids, 0, result, 0, at);
+                result[at] = id;
+                System.arraycopy(ids, at, result, at + 1, ids.length - at);
+                postings.put(trigram, result);
+            }
+        }
+    }
+
+    private static void remove(Map<Long, long[]> postings, long id, Set<Long> trigrams) {
+        for (Long trigram : trigrams) {
+            long[] ids = postings.get(trigram);
+            int at = ids == null ? -1 : Arrays.binarySearch(ids, id);
+            if (at < 0) {
+                continue;
+            }
+            if (ids.length == 1) {
+                postings.remove(trigram);
+                continue;
+            }
+            long[] result = new long[ids.length - 1];
+            System.arraycopy(ids, 0, result, 0, at);
+            System.arraycopy(ids, at + 1, result, at, ids.length - at - 1);
+            postings.put(trigram, result);
+        }
+    }
+
+    private static Set<Long> trigrams(Item item) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(trigrams, item.getName());
+        addTrigrams(trigrams, item.getDescription());
+        return trigrams;
+    }
+
+    // H2 upper-cases whole strings (ß becomes SS) while PostgreSQL maps each character on its own (ß stays),
+    // so both foldings are indexed and queries that fold differently under the two go to SQL.
+    private static void addTrigrams(Set<Long> trigrams, String text) {
+        if (text == null) {
+            return;
+        }
+        addFolded(trigrams, text.toUpperCase(Locale.ROOT));
+        if (!foldsPerChar(text)) {
+            addFolded(trigrams, foldPerChar(text));
+        }
+    }
+
+    private static void addFolded(Set<Long> trigrams, String folded) {
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            trigrams.add(trigram(folded, i));
+        }
+    }
+
+    private static boolean foldsPerChar(String text) {
+        return text.toUpperCase(Locale.ROOT).equals(foldPerChar(text));
+    }
+
+    private static String foldPerChar(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toUpperCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static long trigram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static final class PostingsBuilder {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    /**
+     * Walks the shortest list and keeps a cursor into each of the others; all lists are sorted, so the cursors only
+     * move forward.
+     */
+    private static final class Intersection implements Iterator<Long> {
+        private final List<long[]> lists;
+        private final int[] cursors;
+        private long next;
+        private boolean hasNext;
+
+        Intersection(List<long[]> lists, long afterId) {
+            this.lists = lists;
+            this.cursors = new int[lists.size()];
+            long[] shortest = lists.get(0);
+            int from = Arrays.binarySearch(shortest, afterId);
+            cursors[0] = from < 0 ? -from - 1 : from + 1;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            long result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            long[] shortest = lists.get(0);
+            while (cursors[0] < shortest.length) {
+                long id = shortest[cursors[0]++];
+                if (containedInOthers(id)) {
+                    next = id;
+                    hasNext = true;
+                    return;
+                }
+            }
+            hasNext = false;
+        }
+
+        private boolean containedInOthers(long id) {
+            for (int i = 1; i < cursors.length; i++) {
+                long[] ids = lists.get(i);
+                int at = Arrays.binarySearch(ids, cursors[i], ids.length, id);
+                cursors[i] = at < 0 ? -at - 1 : at + 1;
+                if (at < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
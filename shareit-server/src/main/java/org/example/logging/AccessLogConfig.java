@@ -0,0 +1,20 @@
+package org.example.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+@RequiredArgsConstructor
+public class AccessLogConfig implements WebMvcConfigurer {
+    private final AccessLogger accessLogger;
+    private final EntitySummarizer entitySummarizer;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AccessLogInterceptor(accessLogger, entitySummarizer));
+    }
+}
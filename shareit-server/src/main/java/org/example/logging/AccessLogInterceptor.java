@@ -0,0 +1,40 @@
+package org.example.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@RequiredArgsConstructor
+public class AccessLogInterceptor implements HandlerInterceptor {
+    static final String BODY_ATTRIBUTE = AccessLogInterceptor.class.getName() + ".body";
+    private static final String START_ATTRIBUTE = AccessLogInterceptor.class.getName() + ".start";
+
+    private final AccessLogger accessLogger;
+    private final EntitySummarizer entitySummarizer;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+        accessLogger.log(request.getMethod(), endpoint, response.getStatus(), (Long) start, () ->
+                "user=" + request.getHeader("X-Sharer-User-Id") +
+                        " body=" + entitySummarizer.summarize(request.getAttribute(BODY_ATTRIBUTE)));
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.access-log")
+public class AccessLogProperties {
+    private double sampleRate = 1.0;
+    private Map<String, Double> endpoints = new HashMap<>();
+}
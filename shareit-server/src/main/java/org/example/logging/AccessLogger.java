@@ -0,0 +1,32 @@
+package org.example.logging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessLogger {
+    private final AccessLogProperties properties;
+
+    public void log(String method, String endpoint, int status, long startNanos, Supplier<String> details) {
+        if (!log.isInfoEnabled() || !isSampled(method + " " + endpoint, status)) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("method={} endpoint={} status={} time={}ms {}", method, endpoint, status, millis, details.get());
+    }
+
+    private boolean isSampled(String endpoint, int status) {
+        if (status >= 500) {
+            return true;
+        }
+        double rate = properties.getEndpoints().getOrDefault(endpoint, properties.getSampleRate());
+        return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
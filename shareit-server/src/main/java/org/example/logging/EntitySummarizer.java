@@ -0,0 +1,43 @@
+package org.example.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class EntitySummarizer {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public String summarize(Object body) {
+        if (body == null) {
+            return "-";
+        }
+        if (body instanceof Collection) {
+            Collection<?> collection = (Collection<?>) body;
+            String element = collection.isEmpty() ? "" : summarizeType(collection.iterator().next());
+            return element + "[" + collection.size() + "]";
+        }
+        if (body instanceof HibernateProxy) {
+            LazyInitializer initializer = ((HibernateProxy) body).getHibernateLazyInitializer();
+            return initializer.getPersistentClass().getSimpleName() + "#" + initializer.getIdentifier();
+        }
+        if (body.getClass().isAnnotationPresent(Entity.class)) {
+            Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(body);
+            return body.getClass().getSimpleName() + "#" + id;
+        }
+        return body.getClass().getSimpleName();
+    }
+
+    private static String summarizeType(Object value) {
+        if (value instanceof HibernateProxy) {
+            return ((HibernateProxy) value).getHibernateLazyInitializer().getPersistentClass().getSimpleName();
+        }
+        return value.getClass().getSimpleName();
+    }
+}
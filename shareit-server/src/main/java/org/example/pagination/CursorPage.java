@@ -0,0 +1,32 @@
+package org.example.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> content, boolean hasNext, Function<T, KeysetCursor> cursorOf) {
+        if (!hasNext || content.isEmpty()) {
+            return new CursorPage<>(content, null);
+        }
+        return new CursorPage<>(content, cursorOf.apply(content.get(content.size() - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return responseBuilder.body(content);
+    }
+}
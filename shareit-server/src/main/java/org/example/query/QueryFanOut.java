@@ -0,0 +1,75 @@
+package org.example.query;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read queries of one use case concurrently and joins their results.
+ * <p>
+ * Each forked query gets its own read-only transaction on the fan-out executor. A read-only caller transaction has
+ * nothing uncommitted to hide, so its queries still fork. Inside a read-write transaction the query runs in place
+ * instead, so it keeps seeing that transaction's own changes. Without an executor every query runs in place.
+ */
+public class QueryFanOut {
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final TransactionOperations transactions;
+
+    public QueryFanOut(ExecutorService executor, Duration timeout, TransactionOperations transactions) {
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+        this.transactions = transactions;
+    }
+
+    public <T> CompletableFuture<T> fork(Supplier<T> query) {
+        Supplier<T> readOnly = () -> transactions.execute(status -> query.get());
+        if (executor == null || inWritableTransaction()) {
+            try {
+                return CompletableFuture.completedFuture(readOnly.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(readOnly, executor);
+    }
+
+    public <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new QueryTimeoutException("Запрос к базе данных не уложился в " + timeoutMillis + " мс", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Ожидание запроса к базе данных прервано", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean inWritableTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
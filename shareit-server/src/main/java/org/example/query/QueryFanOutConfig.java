@@ -0,0 +1,44 @@
+package org.example.query;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(QueryFanOutProperties.class)
+public class QueryFanOutConfig {
+    public static final String THREAD_FACTORY = "queryFanOutThreadFactory";
+
+    @Bean
+    public QueryFanOut queryFanOut(QueryFanOutProperties properties,
+                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                   @Qualifier(THREAD_FACTORY) ObjectProvider<ThreadFactory> threadFactory,
+                                   PlatformTransactionManager transactionManager) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // Cancelling the future cannot stop a running JDBC statement, so the transaction timeout does. Hibernate
+        // rounds the remaining time down to whole seconds, hence the extra second over the join timeout.
+        readOnly.setTimeout((int) ((properties.getTimeout().toMillis() + 999) / 1000) + 1);
+        if (!properties.isEnabled()) {
+            return new QueryFanOut(null, properties.getTimeout(), readOnly);
+        }
+        // The calling request keeps its own connection, so forked queries get at most half of the pool.
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Math.max(1, poolSize / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                threadFactory.getIfAvailable(() -> new CustomizableThreadFactory("query-fan-out-")),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        return new QueryFanOut(executor, properties.getTimeout(), readOnly);
+    }
+}
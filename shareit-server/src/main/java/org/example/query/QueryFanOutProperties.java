@@ -0,0 +1,17 @@
+package org.example.query;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.query.fan-out")
+public class QueryFanOutProperties {
+    private boolean enabled = true;
+    private int threads = 0;
+    private int queueCapacity = 100;
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -1,14 +1,34 @@
 package org.example.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.example.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequester_IdOrderByCreatedDesc(Long requesterId);
+    @Query("SELECT r " +
+            "FROM ItemRequest r " +
+            "WHERE r.requester.id = :requesterId " +
+            "ORDER BY r.created DESC")
+    List<ItemRequest> findAllByRequester_IdOrderByCreatedDesc(@Param("requesterId") Long requesterId);
 
-    Page<ItemRequest> findAllByRequester_IdNot(Long requesterId, Pageable pageable);
+    @Query("SELECT r " +
+            "FROM ItemRequest r " +
+            "WHERE r.requester.id <> :requesterId")
+    Slice<ItemRequest> findAllByRequester_IdNot(@Param("requesterId") Long requesterId, Pageable pageable);
+
+    @Query("SELECT r " +
+            "FROM ItemRequest r " +
+            "WHERE r.requester.id <> :requesterId " +
+            "AND r.created <= :created AND (r.created < :created OR r.id < :id) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    Slice<ItemRequest> findAllByRequester_IdNotAfter(@Param("requesterId") Long requesterId,
+                                                     @Param("created") LocalDateTime created,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
 }
\ No newline at end of file
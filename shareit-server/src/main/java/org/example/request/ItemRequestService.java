@@ -1,6 +1,7 @@
 package org.example.request;
 
 import org.example.request.model.ItemRequestDto;
+import org.example.pagination.CursorPage;
 import org.example.request.model.ItemRequestGetDto;
 
 import java.util.List;
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestGetDto> getAll(Long requesterId, int from, int size);
 
+    CursorPage<ItemRequestGetDto> getAll(Long requesterId, String cursor, int size);
+
     ItemRequestGetDto getById(Long userId, Long requestId);
 }
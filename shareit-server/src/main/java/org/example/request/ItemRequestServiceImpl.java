@@ -1,15 +1,17 @@
 package org.example.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.example.exception.ItemRequestNotFoundException;
 import org.example.exception.UserNotFoundException;
 import org.example.item.ItemRepository;
 import org.example.item.model.ItemShort;
+import org.example.pagination.CursorPage;
+import org.example.pagination.KeysetCursor;
+import org.example.pagination.OffsetPageRequest;
 import org.example.request.model.ItemRequest;
 import org.example.request.model.ItemRequestDto;
 import org.example.request.model.ItemRequestGetDto;
@@ -20,12 +22,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final Sort SORT_BY_CREATED = Sort.by(Sort.Direction.DESC, "created")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository requestRepository;
@@ -35,6 +40,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 new UserNotFoundException("Для операций c запросами нужно создать пользователя"));
     }
 
+    @Transactional
     @Override
     public ItemRequestDto create(Long userId, ItemRequestDto itemRequestDto) {
         User user = userExistCheck(userId);
@@ -47,32 +53,27 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         userExistCheck(requesterId);
 
         List<ItemRequest> requests = requestRepository.findAllByRequester_IdOrderByCreatedDesc(requesterId);
-        Set<Long> requestIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toSet());
-        Map<Long, List<ItemShort>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds).stream()
-                .collect(Collectors.groupingBy(ItemShort::getRequestId));
-
-        return requests.stream()
-                .map(request -> ItemRequestMapper
-                        .mapToItemRequestGetDto(request, itemsByRequestId.get(request.getId())))
-                .collect(Collectors.toList());
+        return mapToItemRequestGetDtos(requests);
     }
 
     @Override
     public List<ItemRequestGetDto> getAll(Long requesterId, int from, int size) {
         userExistCheck(requesterId);
+        Slice<ItemRequest> requests = requestRepository.findAllByRequester_IdNot(requesterId,
+                OffsetPageRequest.of(from, size, SORT_BY_CREATED));
+        return mapToItemRequestGetDtos(requests.getContent());
+    }
 
-        List<ItemRequest> requests = findRequestsByRequesterIdNotWithPagination(requesterId, from, size);
-        Set<Long> requestIds = requests.stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toSet());
-
-        Map<Long, List<ItemShort>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds).stream()
-                .collect(Collectors.groupingBy(ItemShort::getRequestId));
-
-        return requests.stream()
-                .map(request -> ItemRequestMapper
-                        .mapToItemRequestGetDto(request, itemsByRequestId.get(request.getId())))
-                .collect(Collectors.toList());
+    @Override
+    public CursorPage<ItemRequestGetDto> getAll(Long requesterId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, true);
+        userExistCheck(requesterId);
+        Slice<ItemRequest> requests = after == null
+                ? requestRepository.findAllByRequester_IdNot(requesterId, OffsetPageRequest.of(0, size, SORT_BY_CREATED))
+                : requestRepository.findAllByRequester_IdNotAfter(requesterId, after.getPosition(), after.getId(),
+                OffsetPageRequest.of(0, size));
+        return CursorPage.of(mapToItemRequestGetDtos(requests.getContent()), requests.hasNext(),
+                request -> KeysetCursor.of(request.getCreated(), request.getId()));
     }
 
     @Override
@@ -83,38 +84,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.mapToItemRequestGetDto(request, itemRepository.findAllByRequestId(request.getId()));
     }
 
-    private List<ItemRequest> findRequestsByRequesterIdNotWithPagination(Long requesterId, int from, int size) {
-        int startPage = from / size;
-        Sort sortById = Sort.by(Sort.Direction.DESC, "created");
-        Pageable page = PageRequest.of(from / size, size, sortById);
-        if (from % size == 0) {
-            return requestRepository.findAllByRequester_IdNot(requesterId, page).getContent();
-        }
-
-        double nextPageElPercent = (double) from / size - startPage;
-        int countOfNextPageEl = (int) Math.ceil(nextPageElPercent * size);
-        int countOfStartPageEl = size - countOfNextPageEl;
-
-        page = PageRequest.of(startPage, size, sortById);
-        Page<ItemRequest> requestsPage = requestRepository.findAllByRequester_IdNot(requesterId, page);
-        List<ItemRequest> requestsList = requestsPage.getContent();
-
-        if (requestsList.isEmpty()) {
-            return requestsList;
-        }
-
-        List<ItemRequest> startPageRequests = requestsList.subList(requestsList.size() - countOfStartPageEl,
-                requestsList.size());
+    private List<ItemRequestGetDto> mapToItemRequestGetDtos(List<ItemRequest> requests) {
+        Set<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
 
-        if (requestsPage.hasNext()) {
-            page = PageRequest.of(startPage + 1, size, sortById);
-            requestsPage = requestRepository.findAllByRequester_IdNot(requesterId, page);
-            List<ItemRequest> nextPageRequests = requestsPage.getContent().subList(0, countOfNextPageEl);
-            return Stream.concat(
-                    startPageRequests.stream(),
-                    nextPageRequests.stream()).collect(Collectors.toList());
-        }
+        Map<Long, List<ItemShort>> itemsByRequestId = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemShort::getRequestId));
 
-        return startPageRequests;
+        return requests.stream()
+                .map(request -> ItemRequestMapper
+                        .mapToItemRequestGetDto(request, itemsByRequestId.get(request.getId())))
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
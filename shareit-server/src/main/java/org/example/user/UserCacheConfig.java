@@ -0,0 +1,71 @@
+package org.example.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.user.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class UserCacheConfig {
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.users.ttl:10m}") Duration ttl,
+                                     @Value("${shareit.cache.users.max-size:10000}") long maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS) {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new UserSnapshotCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Stores and hands out copies of cached users. Callers get a detached instance they may change freely, so an
+     * update that later rolls back never leaks into the cache, and a managed entity is never cached itself.
+     */
+    static class UserSnapshotCache extends CaffeineCache {
+        UserSnapshotCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                          boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+
+        private static Object copy(Object value) {
+            if (!(value instanceof User)) {
+                return value;
+            }
+            User user = (User) value;
+            return User.builder()
+                    .id(user.getId())
+                    .name(user.getName())
+                    .email(user.getEmail())
+                    .build();
+        }
+    }
+}
@@ -1,8 +1,30 @@
 package org.example.user;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.example.user.model.User;
 
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmailContainingIgnoreCase(String emailSearch);
-}
\ No newline at end of file
+
+    @Override
+    @Cacheable(cacheNames = UserCacheConfig.USERS, unless = "#result == null")
+    Optional<User> findById(Long id);
+
+    @Override
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE id = :id)", nativeQuery = true)
+    boolean existsById(@Param("id") Long id);
+
+    @Override
+    @CacheEvict(cacheNames = UserCacheConfig.USERS, key = "#p0.id", condition = "#p0.id != null")
+    <S extends User> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = UserCacheConfig.USERS, key = "#p0")
+    void deleteById(Long id);
+}
@@ -11,6 +11,7 @@ import org.example.user.model.UserUpdateDto;
 import java.util.List;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
@@ -39,6 +40,7 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToUserDto(user);
     }
 
+    @Transactional
     @Override
     public UserDto update(Long userId, UserUpdateDto userDto) {
         User user = userExistCheck(userId);
@@ -52,6 +54,7 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToUserDto(updatedUser);
     }
 
+    @Transactional
     @Override
     public void delete(Long id) {
         userRepository.deleteById(id);
@@ -0,0 +1,4 @@
+CREATE VIEW booking_history AS
+SELECT id, start_date, end_date, item_id, booker_id, owner_id, status FROM bookings
+UNION ALL
+SELECT id, start_date, end_date, item_id, booker_id, owner_id, status FROM bookings_archive;
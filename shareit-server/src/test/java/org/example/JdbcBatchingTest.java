@@ -0,0 +1,56 @@
+package org.example;
+
+import org.example.item.ItemRepository;
+import org.example.item.model.Item;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional
+@ActiveProfiles({"prod", "diagnostics"})
+@SpringBootTest
+class JdbcBatchingTest {
+    private static final int ROWS = 200;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void testBulkInsertsAreBatched() {
+        User owner = userRepository.saveAndFlush(User.builder().name("owner").email("owner@batch.ru").build());
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Аккумуляторная дрель")
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        itemRepository.saveAllAndFlush(items);
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= ROWS / 50 + 5,
+                () -> "Inserts were not batched: " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
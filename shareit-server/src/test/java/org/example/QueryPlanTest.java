@@ -0,0 +1,194 @@
+package org.example;
+
+import org.example.booking.BookingRepository;
+import org.example.booking.BookingStatus;
+import org.example.booking.model.Booking;
+import org.example.item.ItemRepository;
+import org.example.item.comment.CommentRepository;
+import org.example.item.model.Item;
+import org.example.request.ItemRequestRepository;
+import org.example.request.model.ItemRequest;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "org.example.QueryPlanTest$SqlCollector")
+class QueryPlanTest {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    // H2 may pick the foreign key's own index for status filters; either way the lookup stays on bookings.owner_id.
+    private static final Pattern BOOKING_OWNER_LOOKUP =
+            Pattern.compile("PUBLIC\\.(IDX_BOOKINGS_OWNER_\\w+|FK_BOOKINGS_TO_OWNERS\\w*): OWNER_ID = \\?1");
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Пётр").email("owner@email.com").build());
+        booker = userRepository.save(User.builder().name("НеПётр").email("booker@email.com").build());
+        request = requestRepository.save(ItemRequest.builder()
+                .description("Нужна отвёртка")
+                .requester(booker)
+                .created(LocalDateTime.now())
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("Отвёртка")
+                .description("Аккумуляторная отвертка")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void testHotQueriesUseIndexes() {
+        Long ownerId = owner.getId();
+        Long bookerId = booker.getId();
+        Set<BookingStatus> statuses = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+        Set<BookingStatus> excluded = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10);
+        Pageable requestPage = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+
+        bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(bookerId, statuses, page);
+        bookingRepository.findByBooker_IdAndStatusInAfter(bookerId, statuses, now, 1L, page);
+        bookingRepository.findPastBookingsByBooker_Id(bookerId, page);
+        bookingRepository.findPastBookingsByBooker_IdAfter(bookerId, now, 1L, page);
+        bookingRepository.findCurrentBookingsByBooker_Id(bookerId, page);
+        bookingRepository.findCurrentBookingsByBooker_IdAfter(bookerId, now, 1L, page);
+        bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
+        bookingRepository.findPastBookingsByOwner_IdAfter(ownerId, now, 1L, page);
+        bookingRepository.findCurrentBookingsByOwner_Id(ownerId, page);
+        bookingRepository.findCurrentBookingsByOwner_IdAfter(ownerId, now, 1L, page);
+        bookingRepository.findByOwner_IdAndStatusIn(ownerId, statuses, page);
+        bookingRepository.findByOwner_IdAndStatusInAfter(ownerId, statuses, now, 1L, page);
+        bookingRepository.existsBookingByBooker_IdAndItem_IdAndEndBeforeAndStatusNotIn(bookerId, item.getId(),
+                now, excluded);
+        bookingRepository.findNearestBookingsByItemIdIn(Set.of(item.getId()), Set.of(BookingStatus.REJECTED.name(),
+                BookingStatus.CANCELED.name()), now);
+        itemRepository.findByOwnerIdOrderByIdAsc(ownerId, page);
+        itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(ownerId, 1L, page);
+        itemRepository.findAllByRequestIdIn(Set.of(request.getId()));
+        itemRepository.findAllByRequestId(request.getId());
+        commentRepository.findAllByItemIdIn(Set.of(item.getId()));
+        commentRepository.findAllByItemId(item.getId());
+        requestRepository.findAllByRequester_IdOrderByCreatedDesc(bookerId);
+        requestRepository.findAllByRequester_IdNot(ownerId, requestPage);
+        requestRepository.findAllByRequester_IdNotAfter(ownerId, now, 1L, page);
+
+        assertFalse(STATEMENTS.isEmpty());
+        List<String> scans = new ArrayList<>();
+        for (String sql : STATEMENTS) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            if (plan.contains(".tableScan")) {
+                scans.add(plan);
+            }
+        }
+        assertTrue(scans.isEmpty(), () -> "Sequential scan in plan:\n" + String.join("\n\n", scans));
+    }
+
+    @Test
+    void testOwnerQueriesUseBookingOwnerIndexes() {
+        Long ownerId = owner.getId();
+        Set<BookingStatus> statuses = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10);
+
+        bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
+        bookingRepository.findPastBookingsByOwner_IdAfter(ownerId, now, 1L, page);
+        bookingRepository.findCurrentBookingsByOwner_Id(ownerId, page);
+        bookingRepository.findCurrentBookingsByOwner_IdAfter(ownerId, now, 1L, page);
+        bookingRepository.findByOwner_IdAndStatusIn(ownerId, statuses, page);
+        bookingRepository.findByOwner_IdAndStatusInAfter(ownerId, statuses, now, 1L, page);
+
+        assertEquals(6, STATEMENTS.size());
+        for (String sql : STATEMENTS) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertTrue(BOOKING_OWNER_LOOKUP.matcher(plan).find(), () -> "Owner index not used:\n" + plan);
+        }
+    }
+
+    @Test
+    void testBookingsCopyItemOwner() {
+        Long bookingOwner = jdbcTemplate.queryForObject("SELECT owner_id FROM bookings WHERE item_id = ?",
+                Long.class, item.getId());
+
+        assertEquals(owner.getId(), bookingOwner);
+    }
+
+    @Test
+    void testMigrationsCreateIndexes() {
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE INDEX_NAME LIKE 'IDX_%'", Integer.class);
+
+        assertTrue(indexes >= 8);
+    }
+
+    @Test
+    void testMigrationsIndexArchiveByStart() {
+        // Status listings over booking_history are ordered by start, so the archive needs the same keys as bookings.
+        List<String> indexes = jdbcTemplate.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE TABLE_NAME = 'BOOKINGS_ARCHIVE' AND INDEX_NAME LIKE 'IDX_%_START' ORDER BY INDEX_NAME",
+                String.class);
+
+        assertEquals(List.of("IDX_BOOKINGS_ARCHIVE_BOOKER_START", "IDX_BOOKINGS_ARCHIVE_OWNER_START"), indexes);
+    }
+
+    public static class SqlCollector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
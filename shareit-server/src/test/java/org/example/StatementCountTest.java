@@ -0,0 +1,230 @@
+package org.example;
+
+import com.jayway.jsonpath.JsonPath;
+import org.example.booking.BookingRepository;
+import org.example.booking.BookingStatus;
+import org.example.booking.model.Booking;
+import org.example.item.ItemRepository;
+import org.example.item.comment.Comment;
+import org.example.item.comment.CommentRepository;
+import org.example.item.model.Item;
+import org.example.request.ItemRequestRepository;
+import org.example.request.model.ItemRequest;
+import org.example.user.UserCacheConfig;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "org.example.StatementCountTest$StatementCounter")
+@AutoConfigureMockMvc
+class StatementCountTest {
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<ItemRequest> requests = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Comment> comments = new ArrayList<>();
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner");
+        booker = saveUser("booker");
+        for (int i = 0; i < ROWS; i++) {
+            User requester = saveUser("requester" + i);
+            ItemRequest request = requestRepository.save(ItemRequest.builder()
+                    .description("Нужна дрель " + i)
+                    .requester(requester)
+                    .created(LocalDateTime.now())
+                    .build());
+            requests.add(request);
+            Item item = itemRepository.save(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Аккумуляторная дрель")
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            items.add(item);
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .start(LocalDateTime.now().minusDays(2))
+                    .end(LocalDateTime.now().minusDays(1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build()));
+            comments.add(commentRepository.save(Comment.builder()
+                    .text("Отличная дрель")
+                    .item(items.get(0))
+                    .author(saveUser("author" + i))
+                    .created(LocalDateTime.now())
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll(comments);
+        bookings.forEach(booking -> bookingRepository.deleteById(booking.getId()));
+        items.forEach(item -> itemRepository.deleteById(item.getId()));
+        requestRepository.deleteAll(requests);
+        users.forEach(user -> userRepository.deleteById(user.getId()));
+    }
+
+    @Test
+    void testBookingListsDoNotLoadAssociationsPerRow() throws Exception {
+        assertStatements(2, get("/bookings?state=ALL&from=0&size=10").header("X-Sharer-User-Id", booker.getId()));
+        assertStatements(2, get("/bookings?state=PAST&from=0&size=10").header("X-Sharer-User-Id", booker.getId()));
+        assertStatements(2, get("/bookings/owner?state=ALL&from=0&size=10")
+                .header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(2, get("/bookings/owner?state=ALL&from=0&size=10&cursor=")
+                .header("X-Sharer-User-Id", owner.getId()));
+    }
+
+    @Test
+    void testAuthorizationChecksSkipUserLookup() throws Exception {
+        assertStatements(1, get("/bookings/" + bookings.get(0).getId()).header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(1, get("/bookings/" + bookings.get(0).getId()).header("X-Sharer-User-Id", booker.getId()));
+        assertStatements(3, patch("/bookings/" + bookings.get(0).getId() + "?approved=false")
+                .header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(2, patch("/items/" + items.get(0).getId())
+                .header("X-Sharer-User-Id", owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Перфоратор\"}"));
+
+        STATEMENTS.clear();
+        mvc.perform(get("/bookings/" + bookings.get(0).getId()).header("X-Sharer-User-Id", -1))
+                .andExpect(status().isNotFound());
+        assertEquals(2, STATEMENTS.size(), () -> "Unexpected statements:\n" + String.join("\n\n", STATEMENTS));
+    }
+
+    @Test
+    void testItemsLoadCommentAuthorsInOneQuery() throws Exception {
+        assertStatements(4, get("/items?from=0&size=10").header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(4, get("/items/" + items.get(0).getId()).header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(3, get("/items/" + items.get(0).getId()).header("X-Sharer-User-Id", booker.getId()));
+    }
+
+    @Test
+    void testRequestListsLoadItemsInOneQuery() throws Exception {
+        assertStatements(3, get("/requests/all?from=0&size=10").header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(3, get("/requests").header("X-Sharer-User-Id", requests.get(0).getRequester().getId()));
+    }
+
+    @Test
+    void testBookingWritesRenderOutsideOpenSession() throws Exception {
+        String body = mvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\":" + items.get(0).getId() +
+                                ",\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.item.owner.name").value(owner.getName()))
+                .andExpect(jsonPath("$.item.request.requester.name").exists())
+                .andReturn().getResponse().getContentAsString();
+        Long bookingId = ((Number) JsonPath.read(body, "$.id")).longValue();
+        bookings.add(bookingRepository.findById(bookingId).orElseThrow());
+
+        mvc.perform(patch("/bookings/" + bookingId + "?approved=true").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booker.name").value(booker.getName()))
+                .andExpect(jsonPath("$.item.request.requester.name").exists());
+    }
+
+    @Test
+    void testExportsStreamInOneQuery() throws Exception {
+        String[] bookingLines = export(2, "/bookings/owner/export", owner);
+        assertEquals(ROWS, bookingLines.length);
+        assertEquals(bookings.get(0).getId(), ((Number) JsonPath.read(bookingLines[0], "$.id")).longValue());
+        assertEquals(owner.getName(), JsonPath.read(bookingLines[0], "$.item.owner.name"));
+
+        String[] itemLines = export(2, "/items/export", owner);
+        assertEquals(ROWS, itemLines.length);
+        assertEquals(items.get(ROWS - 1).getId(), ((Number) JsonPath.read(itemLines[ROWS - 1], "$.id")).longValue());
+
+        mvc.perform(get("/bookings/owner/export").header("X-Sharer-User-Id", -1))
+                .andExpect(status().isNotFound());
+    }
+
+    private User saveUser(String name) {
+        User user = userRepository.save(User.builder().name(name).email(name + "@count.ru").build());
+        users.add(user);
+        return user;
+    }
+
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        Objects.requireNonNull(cacheManager.getCache(UserCacheConfig.USERS)).clear();
+        STATEMENTS.clear();
+        mvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, STATEMENTS.size(), () -> "Unexpected statements:\n" + String.join("\n\n", STATEMENTS));
+    }
+
+    private String[] export(int expectedStatements, String url, User user) throws Exception {
+        Objects.requireNonNull(cacheManager.getCache(UserCacheConfig.USERS)).clear();
+        STATEMENTS.clear();
+        MvcResult result = mvc.perform(get(url).header("X-Sharer-User-Id", user.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(expectedStatements, STATEMENTS.size(),
+                () -> "Unexpected statements:\n" + String.join("\n\n", STATEMENTS));
+        return body.split("\n");
+    }
+
+    public static class StatementCounter implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
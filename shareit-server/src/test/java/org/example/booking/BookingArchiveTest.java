@@ -0,0 +1,172 @@
+package org.example.booking;
+
+import org.example.booking.archive.BookingArchive;
+import org.example.booking.archive.BookingArchiver;
+import org.example.booking.model.Booking;
+import org.example.item.ItemRepository;
+import org.example.item.model.Item;
+import org.example.pagination.CursorPage;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:archive", "shareit.bookings.archive.enabled=true",
+        "shareit.bookings.archive.horizon=1d", "shareit.bookings.archive.batch-size=1",
+        "shareit.bookings.reactive-reads.enabled=true",
+        "spring.r2dbc.url=r2dbc:h2:mem:///archive?options=DB_CLOSE_DELAY=-1"})
+class BookingArchiveTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ReactiveBookingService reactiveBookingService;
+    @Autowired
+    private BookingArchiver archiver;
+    @Autowired
+    private BookingArchive bookingArchive;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@archive.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@archive.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        saveBooking(now.minusDays(11), now.minusDays(10));
+        saveBooking(now.minusDays(6), now.minusDays(5));
+        saveBooking(now.minusHours(4), now.minusHours(3));
+        saveBooking(now.minusHours(1), now.plusHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings_archive WHERE id IN (:ids)", Map.of("ids", ids(bookings)));
+        bookings.forEach(booking -> bookingRepository.findById(booking.getId())
+                .ifPresent(found -> bookingRepository.deleteById(found.getId())));
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void testArchiveMovesBookingsPastHorizon() {
+        assertEquals(2, archiver.archive());
+        assertEquals(0, archiver.archive());
+
+        assertFalse(bookingRepository.existsById(bookings.get(0).getId()));
+        assertFalse(bookingRepository.existsById(bookings.get(1).getId()));
+        assertTrue(bookingRepository.existsById(bookings.get(2).getId()));
+        assertEquals(ids(bookings.subList(0, 2)), archivedIds());
+        assertTrue(bookingArchive.hasFinishedBooking(booker.getId(), item.getId(),
+                Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED)));
+    }
+
+    @Test
+    void testPastListingsContinueIntoArchive() {
+        archiver.archive();
+        List<Long> past = List.of(bookings.get(2).getId(), bookings.get(1).getId(), bookings.get(0).getId());
+
+        List<Booking> all = bookingService.getAllByBooker(booker.getId(), BookingState.PAST, 0, 10);
+        assertEquals(past, ids(all));
+        assertEquals(owner.getName(), all.get(2).getItem().getOwner().getName());
+        assertEquals(past.subList(1, 3), ids(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, 1, 5)));
+        assertEquals(past.subList(2, 3), ids(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, 2, 1)));
+
+        CursorPage<Booking> first = bookingService.getAllByOwner(owner.getId(), BookingState.PAST, "", 2);
+        assertEquals(past.subList(0, 2), ids(first.getContent()));
+        CursorPage<Booking> second = bookingService.getAllByOwner(owner.getId(), BookingState.PAST,
+                first.getNextCursor(), 2);
+        assertEquals(past.subList(2, 3), ids(second.getContent()));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testPastPageEndingOnHotRowsStillLinksToArchive() {
+        archiver.archive();
+
+        CursorPage<Booking> hot = bookingService.getAllByBooker(booker.getId(), BookingState.PAST, "", 1);
+        assertEquals(ids(bookings.subList(2, 3)), ids(hot.getContent()));
+        CursorPage<Booking> archived = bookingService.getAllByBooker(booker.getId(), BookingState.PAST,
+                hot.getNextCursor(), 2);
+        assertEquals(List.of(bookings.get(1).getId(), bookings.get(0).getId()), ids(archived.getContent()));
+        assertNull(archived.getNextCursor());
+    }
+
+    @Test
+    void testEveryReadSeesArchivedBookings() {
+        archiver.archive();
+        List<Long> all = List.of(bookings.get(3).getId(), bookings.get(2).getId(), bookings.get(1).getId(),
+                bookings.get(0).getId());
+
+        assertEquals(all, ids(bookingService.getAllByBooker(booker.getId(), BookingState.ALL, 0, 10)));
+        assertEquals(all, ids(bookingService.getAllByOwner(owner.getId(), BookingState.ALL, 0, 10)));
+        CursorPage<Booking> first = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, "", 3);
+        assertEquals(all.subList(0, 3), ids(first.getContent()));
+        assertEquals(all.subList(3, 4), ids(bookingService.getAllByOwner(owner.getId(), BookingState.ALL,
+                first.getNextCursor(), 3).getContent()));
+        assertEquals(ids(bookings.subList(3, 4)),
+                ids(bookingService.getAllByBooker(booker.getId(), BookingState.CURRENT, 0, 10)));
+
+        Booking archived = bookingService.getById(booker.getId(), bookings.get(0).getId());
+        assertEquals(owner.getName(), archived.getItem().getOwner().getName());
+
+        List<Booking> exported = new ArrayList<>();
+        bookingService.exportAllByOwner(owner.getId(), exported::add);
+        assertEquals(ids(bookings), ids(exported));
+
+        assertEquals(all, ids(reactiveBookingService.getAllByOwner(owner.getId(), BookingState.ALL, 0, 100)
+                .collectList().block()));
+    }
+
+    private List<Long> archivedIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM bookings_archive WHERE id IN (:ids) ORDER BY id",
+                Map.of("ids", ids(bookings)), Long.class);
+    }
+
+    private void saveBooking(LocalDateTime start, LocalDateTime end) {
+        bookings.add(bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build()));
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.booking;
+
+import org.example.booking.model.Booking;
+import org.example.exception.BookingConflictException;
+import org.example.item.ItemRepository;
+import org.example.item.ItemService;
+import org.example.item.model.ItemDto;
+import org.example.user.UserRepository;
+import org.example.user.UserService;
+import org.example.user.model.UserDto;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.example.booking.BookingServiceImplTest.makeBookingDto;
+import static org.example.booking.BookingServiceImplTest.makeItemDto;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Users, items and bookings for the booking race tests, plus a runner that releases all tasks at once. Everything it
+ * creates is removed by {@link #tearDown()}.
+ */
+class BookingConcurrencyFixture {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final String emailDomain;
+
+    private final List<Long> users = new ArrayList<>();
+    private final List<Long> items = new ArrayList<>();
+    private final List<Long> bookings = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    final BookingService bookingService;
+
+    BookingConcurrencyFixture(ApplicationContext context, String emailDomain) {
+        this.userService = context.getBean(UserService.class);
+        this.itemService = context.getBean(ItemService.class);
+        this.bookingService = context.getBean(BookingService.class);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.itemRepository = context.getBean(ItemRepository.class);
+        this.bookingRepository = context.getBean(BookingRepository.class);
+        this.emailDomain = emailDomain;
+    }
+
+    void tearDown() {
+        executor.shutdownNow();
+        bookings.forEach(bookingRepository::deleteById);
+        items.forEach(itemRepository::deleteById);
+        users.forEach(userRepository::deleteById);
+    }
+
+    Long createUser(String name) {
+        Long id = userService.create(UserDto.builder()
+                .name(name)
+                .email(name + "@" + emailDomain)
+                .build()).getId();
+        users.add(id);
+        return id;
+    }
+
+    Long createItem(Long owner) {
+        ItemDto item = itemService.create(owner, makeItemDto("Дрель", "Аккумуляторная дрель", true, null));
+        items.add(item.getId());
+        return item.getId();
+    }
+
+    Booking createBooking(Long booker, Long itemId, LocalDateTime start) {
+        Booking booking = bookingService.create(booker, makeBookingDto(itemId, start, start.plusHours(1)));
+        bookings.add(booking.getId());
+        return booking;
+    }
+
+    /**
+     * Submits the tasks so that none of them starts before all are queued.
+     */
+    List<Future<Booking>> start(List<Callable<Booking>> tasks) {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Booking>> results = new ArrayList<>();
+        for (Callable<Booking> task : tasks) {
+            results.add(executor.submit(() -> {
+                ready.await();
+                return task.call();
+            }));
+        }
+        ready.countDown();
+        return results;
+    }
+
+    /**
+     * Waits for the tasks and returns how many succeeded; every failure must be a {@link BookingConflictException},
+     * that is a 409 for the client.
+     */
+    int countSucceeded(List<Future<Booking>> results) throws InterruptedException {
+        int succeeded = 0;
+        for (Future<Booking> result : results) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BookingConflictException.class, e.getCause());
+            }
+        }
+        return succeeded;
+    }
+
+    int runInParallel(List<Callable<Booking>> tasks) throws InterruptedException {
+        return countSucceeded(start(tasks));
+    }
+}
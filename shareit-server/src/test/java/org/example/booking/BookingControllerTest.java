@@ -7,6 +7,7 @@ import org.example.booking.model.BookingDto;
 import org.example.exception.BookingNotFoundException;
 import org.example.exception.ErrorHandler;
 import org.example.item.model.Item;
+import org.example.pagination.CursorPage;
 import org.example.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,12 +15,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -28,6 +31,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -109,6 +113,33 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.name", is(booking.getItem().getName())));
     }
 
+    @Test
+    void changeStatusRejectedByExclusionConstraint() throws Exception {
+        when(bookingService.changeStatus(1L, 1L, true))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        mvc.perform(patch("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Вещь уже забронирована на эти даты")));
+    }
+
+    @Test
+    void changeStatusWithOtherIntegrityViolation() throws Exception {
+        when(bookingService.changeStatus(1L, 1L, true))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("null value in column violates not-null constraint", "23502")));
+
+        mvc.perform(patch("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     void getByIdWithBookingNotFoundException() throws Exception {
         when(bookingService.getById(1L, 1L))
@@ -184,6 +215,26 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].item.name", is(booking.getItem().getName())));
     }
 
+    @Test
+    void getAllByBookerWithCursor() throws Exception {
+        when(bookingService.getAllByBooker(1L, BookingState.ALL, "", 1))
+                .thenReturn(new CursorPage<>(bookings, "next"));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .param("cursor", "")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect((jsonPath("$", hasSize(1))))
+                .andExpect(jsonPath("$[0].id", is(booking.getId()), Long.class));
+    }
+
     @Test
     void getAllByOwnerBadRequest() throws Exception {
         mvc.perform(get("/bookings/owner")
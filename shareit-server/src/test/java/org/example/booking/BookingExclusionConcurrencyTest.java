@@ -0,0 +1,96 @@
+package org.example.booking;
+
+import org.example.booking.model.Booking;
+import org.example.exception.ErrorHandler;
+import org.example.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Races approvals with the item lock and the overlap check switched off, so that only the
+ * ex_bookings_item_approved_period exclusion constraint stands between them. H2 has no such constraint: run against
+ * Postgres with
+ * {@code SPRING_DRIVER_CLASS_NAME=org.postgresql.Driver SPRING_DATASOURCE_URL=jdbc:postgresql://...
+ * mvn test -Dtest=BookingExclusionConcurrencyTest}.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = "jdbc:postgresql:.*")
+class BookingExclusionConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @SpyBean
+    private ItemRepository itemRepository;
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
+    private BookingConcurrencyFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new BookingConcurrencyFixture(context, "exclusion.ru");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.tearDown();
+    }
+
+    @Test
+    void testParallelApprovalsAreStoppedByExclusionConstraint() throws Exception {
+        Long owner = fixture.createUser("owner");
+        Long booker = fixture.createUser("booker");
+        Long itemId = fixture.createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Callable<Booking>> approvals = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long bookingId = fixture.createBooking(booker, itemId, start.plusMinutes(i)).getId();
+            approvals.add(() -> fixture.bookingService.changeStatus(owner, bookingId, true));
+        }
+        doReturn(Optional.empty()).when(itemRepository).lockById(any());
+        doReturn(List.of()).when(bookingRepository).findFirstEndingAfter(any(), any(), any(), any());
+
+        int succeeded = 0;
+        for (Future<Booking> result : fixture.start(approvals)) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+                assertEquals(HttpStatus.CONFLICT, new ErrorHandler()
+                        .handleDataIntegrityViolationException((DataIntegrityViolationException) e.getCause())
+                        .getStatusCode());
+            }
+        }
+
+        assertEquals(1, succeeded);
+        assertEquals(1, fixture.bookingService.getAllByOwner(owner, BookingState.FUTURE, 0, THREADS).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+    }
+}
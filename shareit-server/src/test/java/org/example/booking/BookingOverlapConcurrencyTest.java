@@ -0,0 +1,72 @@
+package org.example.booking;
+
+import org.example.booking.model.Booking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookingOverlapConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private BookingConcurrencyFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new BookingConcurrencyFixture(context, "overlap.ru");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.tearDown();
+    }
+
+    @Test
+    void testParallelApprovalsOfOverlappingBookings() throws Exception {
+        Long owner = fixture.createUser("owner");
+        Long booker = fixture.createUser("booker");
+        Long itemId = fixture.createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Callable<Booking>> approvals = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long bookingId = fixture.createBooking(booker, itemId, start.plusMinutes(i)).getId();
+            approvals.add(() -> fixture.bookingService.changeStatus(owner, bookingId, true));
+        }
+
+        assertEquals(1, fixture.runInParallel(approvals));
+        assertEquals(1, fixture.bookingService.getAllByOwner(owner, BookingState.FUTURE, 0, THREADS).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+    }
+
+    @Test
+    void testParallelCreatesAgainstApprovedBooking() throws Exception {
+        Long owner = fixture.createUser("owner");
+        Long itemId = fixture.createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Callable<Booking>> creates = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long booker = fixture.createUser("booker" + i);
+            LocalDateTime bookingStart = start.plusHours(i % 2 == 0 ? 0 : 1);
+            creates.add(() -> fixture.createBooking(booker, itemId, bookingStart));
+        }
+        fixture.bookingService.changeStatus(owner,
+                fixture.createBooking(fixture.createUser("first"), itemId, start).getId(), true);
+
+        assertEquals(THREADS / 2, fixture.runInParallel(creates));
+    }
+}
@@ -1,20 +1,24 @@
 package org.example.booking;
 
 import org.example.booking.model.Booking;
-import org.example.booking.model.BookingShort;
+import org.example.booking.model.NearestBooking;
 import org.example.item.ItemRepository;
 import org.example.item.model.Item;
+import org.example.pagination.OffsetPageRequest;
 import org.example.request.ItemRequestRepository;
 import org.example.user.UserRepository;
 import org.example.user.model.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
@@ -22,7 +26,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class BookingRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
@@ -32,6 +36,8 @@ class BookingRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     private User user1;
     private User user2;
@@ -73,24 +79,24 @@ class BookingRepositoryTest {
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        Page<Booking> pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDesc(
+        Slice<Booking> pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(
                 1L, statusSet, page);
         assertEquals(0, pages.getContent().size());
 
-        pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDesc(bookerId, statusSet, page);
+        pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(bookerId, statusSet, page);
         assertEquals(1, pages.getContent().size());
 
         statusSet.add(BookingStatus.APPROVED);
         statusSet.add(BookingStatus.REJECTED);
         statusSet.add(BookingStatus.CANCELED);
-        pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDesc(bookerId, statusSet, page);
+        pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(bookerId, statusSet, page);
         List<Booking> bookings = pages.getContent();
 
         assertEquals(4, pages.getContent().size());
         assertEquals(booking4, pages.getContent().get(0));
 
         page = PageRequest.of(1, 2);
-        pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDesc(bookerId, statusSet, page);
+        pages = bookingRepository.findAllByBooker_IdAndStatusInOrderByStartDescIdDesc(bookerId, statusSet, page);
         assertEquals(2, pages.getContent().size());
         assertEquals(booking3, pages.getContent().get(0));
     }
@@ -126,7 +132,7 @@ class BookingRepositoryTest {
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        Page<Booking> pages = bookingRepository.findPastBookingsByBooker_Id(bookerId, page);
+        Slice<Booking> pages = bookingRepository.findPastBookingsByBooker_Id(bookerId, page);
         assertEquals(1, pages.getContent().size());
         assertEquals(booking1, pages.getContent().get(0));
 
@@ -145,7 +151,7 @@ class BookingRepositoryTest {
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        Page<Booking> pages = bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
+        Slice<Booking> pages = bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
         assertEquals(1, pages.getContent().size());
         assertEquals(booking1, pages.getContent().get(0));
 
@@ -164,7 +170,7 @@ class BookingRepositoryTest {
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        Page<Booking> pages = bookingRepository.findCurrentBookingsByBooker_Id(bookerId, page);
+        Slice<Booking> pages = bookingRepository.findCurrentBookingsByBooker_Id(bookerId, page);
         assertEquals(1, pages.getContent().size());
         assertEquals(booking3, pages.getContent().get(0));
 
@@ -183,7 +189,7 @@ class BookingRepositoryTest {
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        Page<Booking> pages = bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
+        Slice<Booking> pages = bookingRepository.findPastBookingsByOwner_Id(ownerId, page);
         assertEquals(1, pages.getContent().size());
         assertEquals(booking1, pages.getContent().get(0));
 
@@ -202,98 +208,101 @@ class BookingRepositoryTest {
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        Page<Booking> pages = bookingRepository.findByOwner_IdAndStatusIn(user1.getId(), statusSet, page);
+        Slice<Booking> pages = bookingRepository.findByOwner_IdAndStatusIn(user1.getId(), statusSet, page);
         assertEquals(2, pages.getContent().size());
         assertEquals(booking4, pages.getContent().get(0));
     }
 
     @Test
-    void testFindLastBookingsByItem_IdsAndStatusNotIn() {
-        Set<BookingStatus> statusSet = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+    void testSliceQueriesRunWithoutCount() {
+        Set<BookingStatus> statusSet = Set.of(BookingStatus.WAITING, BookingStatus.APPROVED,
+                BookingStatus.REJECTED, BookingStatus.CANCELED);
 
         bookingRepository.save(booking1);
         bookingRepository.save(booking2);
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
-
-        BookingShort bookingShort1 = makeBookingShort(booking1);
-        BookingShort bookingShort3 = makeBookingShort(booking3);
-
-        List<BookingShort> pages = bookingRepository.findLastBookingsByItemIdsInAndStatusNotIn(
-                Set.of(item1.getId()), statusSet);
-        assertEquals(1, pages.size());
-        assertEquals(bookingShort1, pages.get(0));
-
-        pages = bookingRepository.findLastBookingsByItemIdsInAndStatusNotIn(
-                Set.of(item1.getId(), item2.getId()), statusSet);
-        assertEquals(2, pages.size());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Slice<Booking> pages = bookingRepository.findByOwner_IdAndStatusIn(user1.getId(), statusSet,
+                OffsetPageRequest.of(1, 2));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, pages.getContent().size());
+        assertEquals(booking2.getId(), pages.getContent().get(0).getId());
+        assertTrue(pages.hasNext());
+
+        Booking last = pages.getContent().get(1);
+        statistics.clear();
+        pages = bookingRepository.findByOwner_IdAndStatusInAfter(user1.getId(), statusSet,
+                last.getStart(), last.getId(), OffsetPageRequest.of(0, 2));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, pages.getContent().size());
+        assertFalse(pages.hasNext());
     }
 
     @Test
-    void testFindNextBookingsByItem_IdsAndStatusNotIn() {
-        Set<BookingStatus> statusSet = Set.of(BookingStatus.WAITING);
+    void testFindNearestBookingsByItemIdIn() {
+        Set<String> statusSet = Set.of(BookingStatus.REJECTED.name(), BookingStatus.CANCELED.name());
 
         bookingRepository.save(booking1);
         bookingRepository.save(booking2);
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
 
-        BookingShort bookingShort2 = makeBookingShort(booking2);
-        BookingShort bookingShort4 = makeBookingShort(booking4);
-
-        List<BookingShort> pages = bookingRepository.findNextBookingsByItemIdsInAndStatusNotIn(
-                Set.of(item1.getId()), statusSet);
-        assertEquals(1, pages.size());
-        assertEquals(bookingShort2, pages.get(0));
+        List<NearestBooking> nearest = bookingRepository.findNearestBookingsByItemIdIn(
+                Set.of(item1.getId()), statusSet, LocalDateTime.now());
+        assertEquals(1, nearest.size());
+        assertNearest(booking1, true, nearest.get(0));
 
-        pages = bookingRepository.findNextBookingsByItemIdsInAndStatusNotIn(
-                Set.of(item1.getId(), item2.getId()), statusSet);
-        assertEquals(2, pages.size());
-        assertEquals(bookingShort2, pages.get(0));
+        nearest = bookingRepository.findNearestBookingsByItemIdIn(
+                Set.of(item1.getId(), item2.getId()), statusSet, LocalDateTime.now());
+        assertEquals(2, nearest.size());
+        assertTrue(nearest.stream().allMatch(NearestBooking::getLast));
     }
 
     @Test
-    void testFindLastBookingsByItem_IdAndStatusNotIn() {
-        Set<BookingStatus> statusSet = Set.of(BookingStatus.REJECTED, BookingStatus.CANCELED);
+    void testFindNearestBookingsByItemIdInReturnsOneRowPerItemAndDirection() {
+        Set<String> statusSet = Set.of(BookingStatus.WAITING.name());
+        Booking booking5 = makeBooking(LocalDateTime.now().minusHours(5), LocalDateTime.now().minusHours(4), item1,
+                BookingStatus.APPROVED);
+        Booking booking6 = makeBooking(LocalDateTime.now().plusHours(5), LocalDateTime.now().plusHours(6), item1,
+                BookingStatus.APPROVED);
 
         bookingRepository.save(booking1);
         bookingRepository.save(booking2);
         bookingRepository.save(booking3);
         bookingRepository.save(booking4);
-
-        BookingShort bookingShort1 = makeBookingShort(booking1);
-        BookingShort bookingShort3 = makeBookingShort(booking3);
-
-        List<BookingShort> pages = bookingRepository.findLastBookingsByItemIdAndStatusNotIn(
-                item1.getId(), statusSet);
-        assertEquals(1, pages.size());
-        assertEquals(bookingShort1, pages.get(0));
-
-        pages = bookingRepository.findLastBookingsByItemIdAndStatusNotIn(item2.getId(), statusSet);
-        assertEquals(1, pages.size());
-        assertEquals(bookingShort3, pages.get(0));
+        bookingRepository.save(booking5);
+        bookingRepository.save(booking6);
+
+        List<NearestBooking> nearest = bookingRepository.findNearestBookingsByItemIdIn(
+                Set.of(item1.getId()), statusSet, LocalDateTime.now());
+        assertEquals(2, nearest.size());
+        assertNearest(booking5, true, findNearest(nearest, item1, true));
+        assertNearest(booking2, false, findNearest(nearest, item1, false));
+
+        nearest = bookingRepository.findNearestBookingsByItemIdIn(
+                Set.of(item1.getId(), item2.getId()), statusSet, LocalDateTime.now());
+        assertEquals(4, nearest.size());
+        assertNearest(booking3, true, findNearest(nearest, item2, true));
+        assertNearest(booking4, false, findNearest(nearest, item2, false));
     }
 
-    @Test
-    void testFindNextBookingsByItem_IdAndStatusNotIn() {
-        Set<BookingStatus> statusSet = Set.of(BookingStatus.WAITING);
-
-        bookingRepository.save(booking1);
-        bookingRepository.save(booking2);
-        bookingRepository.save(booking3);
-        bookingRepository.save(booking4);
-
-        BookingShort bookingShort2 = makeBookingShort(booking2);
-        BookingShort bookingShort4 = makeBookingShort(booking4);
-
-        List<BookingShort> pages = bookingRepository.findNextBookingsByItemIdAndStatusNotIn(
-                item1.getId(), statusSet);
-        assertEquals(1, pages.size());
-        assertEquals(bookingShort2, pages.get(0));
+    private NearestBooking findNearest(List<NearestBooking> nearest, Item item, boolean last) {
+        return nearest.stream()
+                .filter(booking -> booking.getItemId().equals(item.getId()) && booking.getLast() == last)
+                .findFirst()
+                .orElseThrow();
+    }
 
-        pages = bookingRepository.findNextBookingsByItemIdAndStatusNotIn(item2.getId(), statusSet);
-        assertEquals(1, pages.size());
-        assertEquals(bookingShort4, pages.get(0));
+    private void assertNearest(Booking expected, boolean last, NearestBooking actual) {
+        assertEquals(expected.getItem().getId(), actual.getItemId());
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getBooker().getId(), actual.getBookerId());
+        assertEquals(last, actual.getLast());
     }
 
     private Booking makeBooking(LocalDateTime start, LocalDateTime end, Item item, BookingStatus status) {
@@ -306,14 +315,6 @@ class BookingRepositoryTest {
                 .build();
     }
 
-    private BookingShort makeBookingShort(Booking booking) {
-        return BookingShort.builder()
-                .itemId(booking.getItem().getId())
-                .id(booking.getId())
-                .bookerId(booking.getBooker().getId())
-                .build();
-    }
-
     private Item makeItem(String name) {
         return Item.builder()
                 .name(name)
@@ -1,11 +1,15 @@
 package org.example.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.example.batch.BatchResult;
 import org.example.booking.model.Booking;
 import org.example.booking.model.BookingDto;
+import org.example.exception.BookingConflictException;
+import org.example.exception.CursorBadRequestException;
 import org.example.exception.UserNotFoundException;
 import org.example.item.ItemService;
 import org.example.item.model.ItemDto;
+import org.example.pagination.CursorPage;
 import org.example.user.UserService;
 import org.example.user.model.UserDto;
 import org.junit.jupiter.api.Test;
@@ -14,10 +18,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -179,6 +186,106 @@ class BookingServiceImplTest {
         assertThat(bookList.size(), equalTo(0));
     }
 
+    @Test
+    public void getAllByOwnerCursorTest() {
+        UserDto user1 = userService.create(makeUserDto("2Пётр", "some2@email.com"));
+        UserDto user2 = userService.create(makeUserDto("3НеПётр", "any3@email.com"));
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        ItemDto item1 = itemService.create(user1.getId(), makeItemDto("Аккумуляторная дрель",
+                "Аккумуляторная дрель + аккумулятор", true, null));
+
+        Booking book1 = bookingService.create(user2.getId(), makeBookingDto(item1.getId(),
+                now.minusSeconds(3), now.plusHours(1)));
+        Booking book2 = bookingService.create(user2.getId(), makeBookingDto(item1.getId(),
+                now.minusSeconds(2), now.plusHours(2)));
+        Booking book3 = bookingService.create(user2.getId(), makeBookingDto(item1.getId(),
+                now.minusSeconds(1), now.plusHours(3)));
+
+        CursorPage<Booking> page = bookingService.getAllByOwner(user1.getId(), BookingState.ALL, "", 2);
+        assertThat(page.getContent().size(), equalTo(2));
+        assertThat(page.getContent().get(0).getId(), equalTo(book3.getId()));
+        assertThat(page.getContent().get(1).getId(), equalTo(book2.getId()));
+        assertNotNull(page.getNextCursor());
+
+        page = bookingService.getAllByOwner(user1.getId(), BookingState.ALL, page.getNextCursor(), 2);
+        assertThat(page.getContent().size(), equalTo(1));
+        assertThat(page.getContent().get(0).getId(), equalTo(book1.getId()));
+        assertNull(page.getNextCursor());
+
+        page = bookingService.getAllByBooker(user2.getId(), BookingState.CURRENT, "", 1);
+        assertThat(page.getContent().get(0).getId(), equalTo(book1.getId()));
+        page = bookingService.getAllByBooker(user2.getId(), BookingState.CURRENT, page.getNextCursor(), 1);
+        assertThat(page.getContent().get(0).getId(), equalTo(book2.getId()));
+
+        assertThrows(CursorBadRequestException.class, () ->
+                bookingService.getAllByOwner(user1.getId(), BookingState.ALL, "not a cursor", 2));
+    }
+
+    @Test
+    public void createAll() {
+        UserDto user1 = userService.create(makeUserDto("Пётр", "some@email.com"));
+        UserDto user2 = userService.create(makeUserDto("НеПётр", "any@email.com"));
+        ItemDto item1 = itemService.create(user1.getId(), makeItemDto("Аккумуляторная дрель",
+                "Аккумуляторная дрель + аккумулятор", true, null));
+        ItemDto item2 = itemService.create(user1.getId(), makeItemDto("Щётка для обуви",
+                "Стандартная щётка для обуви", false, null));
+        LocalDateTime start = LocalDateTime.now().plusHours(1);
+
+        List<BatchResult<BookingDto>> results = bookingService.createAll(user2.getId(), List.of(
+                makeBookingDto(item1.getId(), start, start.plusHours(1)),
+                makeBookingDto(item2.getId(), start, start.plusHours(1)),
+                makeBookingDto(999L, start, start.plusHours(1)),
+                makeBookingDto(item1.getId(), start.plusHours(1), start),
+                makeBookingDto(item1.getId(), start.plusHours(2), start.plusHours(3))));
+
+        assertThat(results.size(), equalTo(5));
+        assertThat(results.get(0).getStatus(), equalTo(201));
+        assertThat(results.get(0).getBody().getStatus(), equalTo(BookingStatus.WAITING));
+        assertThat(results.get(1).getStatus(), equalTo(400));
+        assertThat(results.get(2).getStatus(), equalTo(404));
+        assertThat(results.get(3).getStatus(), equalTo(400));
+        assertThat(results.get(4).getStatus(), equalTo(201));
+
+        List<Booking> bookList = bookingService.getAllByBooker(user2.getId(), BookingState.ALL, 0, 10);
+        assertThat(bookList.size(), equalTo(2));
+        assertThat(bookList.get(0).getId(), equalTo(results.get(4).getBody().getId()));
+        assertThat(bookList.get(1).getId(), equalTo(results.get(0).getBody().getId()));
+
+        results = bookingService.createAll(user1.getId(), List.of(
+                makeBookingDto(item1.getId(), start, start.plusHours(1))));
+        assertThat(results.get(0).getStatus(), equalTo(404));
+    }
+
+    @Test
+    public void overlappingBookings() {
+        UserDto owner = userService.create(makeUserDto("Пётр", "some@email.com"));
+        UserDto booker = userService.create(makeUserDto("НеПётр", "any@email.com"));
+        ItemDto item = itemService.create(owner.getId(), makeItemDto("Аккумуляторная дрель",
+                "Аккумуляторная дрель + аккумулятор", true, null));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        Booking first = bookingService.create(booker.getId(), makeBookingDto(item.getId(), start, start.plusHours(2)));
+        Booking second = bookingService.create(booker.getId(), makeBookingDto(item.getId(),
+                start.plusHours(1), start.plusHours(3)));
+        Booking adjacent = bookingService.create(booker.getId(), makeBookingDto(item.getId(),
+                start.plusHours(2), start.plusHours(3)));
+        bookingService.changeStatus(owner.getId(), first.getId(), true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.changeStatus(
+                owner.getId(), second.getId(), true));
+        assertThrows(BookingConflictException.class, () -> bookingService.create(booker.getId(),
+                makeBookingDto(item.getId(), start.minusHours(1), start.plusMinutes(1))));
+        assertThat(bookingService.changeStatus(owner.getId(), adjacent.getId(), true).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+
+        List<BatchResult<BookingDto>> results = bookingService.createAll(booker.getId(), List.of(
+                makeBookingDto(item.getId(), start.plusMinutes(30), start.plusHours(1)),
+                makeBookingDto(item.getId(), start.plusHours(3), start.plusHours(4))));
+        assertThat(results.get(0).getStatus(), equalTo(409));
+        assertThat(results.get(1).getStatus(), equalTo(201));
+    }
+
     private UserDto makeUserDto(String name, String email) {
         return UserDto.builder()
                 .name(name)
@@ -1,7 +1,9 @@
 package org.example.booking;
 
+import org.example.booking.archive.BookingArchive;
 import org.example.booking.model.Booking;
 import org.example.booking.model.BookingDto;
+import org.example.booking.model.BookingSlot;
 import org.example.exception.*;
 import org.example.item.ItemRepository;
 import org.example.item.model.Item;
@@ -13,11 +15,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +36,10 @@ public class BookingServiceImplUnitTest {
     private ItemRepository itemRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private BookingArchive bookingArchive;
+    @Mock
+    private EntityManager entityManager;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -86,31 +93,39 @@ public class BookingServiceImplUnitTest {
         assertThrows(UserNotFoundException.class, () -> bookingService.changeStatus(
                 2L, 1L, false));
 
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(booking.getBooker()));
-        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
+        Mockito.when(bookingRepository.findSlotById(Mockito.any())).thenReturn(Optional.empty());
         assertThrows(BookingNotFoundException.class, () -> bookingService.changeStatus(
                 2L, 1L, false));
 
-        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.findSlotById(Mockito.any())).thenReturn(Optional.of(makeSlot(booking)));
         assertThrows(OwnerNotFoundException.class, () -> bookingService.changeStatus(
                 1L, 1L, false));
 
         assertThrows(BookingStateBadRequestException.class, () -> bookingService.changeStatus(
                 2L, 1L, true));
         Mockito.verify(bookingRepository, Mockito.never())
-                .save(any(Booking.class));
+                .updateStatus(Mockito.any(), Mockito.any(), Mockito.any());
     }
 
     @Test
     public void testChangeStatus() {
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(booking.getBooker()));
-        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
-        Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(booking);
+        Booking rejected = makeBooking();
+        rejected.setStart(booking.getStart());
+        rejected.setEnd(booking.getEnd());
+        rejected.setStatus(BookingStatus.REJECTED);
+        Mockito.when(bookingRepository.findSlotById(Mockito.any())).thenReturn(Optional.of(makeSlot(booking)));
+        Mockito.when(bookingRepository.updateStatus(1L, BookingStatus.APPROVED, BookingStatus.REJECTED))
+                .thenReturn(1);
+        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(rejected));
 
         Booking resultBooking = bookingService.changeStatus(2L, 1L, false);
 
         Mockito.verify(bookingRepository, Mockito.times(1))
+                .updateStatus(1L, BookingStatus.APPROVED, BookingStatus.REJECTED);
+        Mockito.verify(bookingRepository, Mockito.never())
                 .save(any(Booking.class));
+        Mockito.verifyNoInteractions(userRepository);
         assertEquals(booking.getId(), resultBooking.getId());
         assertEquals(BookingStatus.REJECTED, resultBooking.getStatus());
         assertEquals(bookingDto.getItemId(), resultBooking.getItem().getId());
@@ -118,11 +133,43 @@ public class BookingServiceImplUnitTest {
         assertEquals(bookingDto.getEnd(), resultBooking.getEnd());
     }
 
+    @Test
+    public void testChangeStatusLostRace() {
+        Mockito.when(bookingRepository.findSlotById(Mockito.any())).thenReturn(Optional.of(makeSlot(booking)));
+
+        assertThrows(BookingConflictException.class, () -> bookingService.changeStatus(2L, 1L, false));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findById(Mockito.any());
+    }
+
+    @Test
+    public void testChangeStatusConflict() {
+        booking.setStatus(BookingStatus.WAITING);
+        Booking approved = makeBooking();
+        approved.setStart(booking.getEnd().minusMinutes(1));
+        approved.setEnd(booking.getEnd().plusHours(1));
+        Mockito.when(bookingRepository.findSlotById(Mockito.any())).thenReturn(Optional.of(makeSlot(booking)));
+        Mockito.when(bookingRepository.findFirstEndingAfter(Mockito.eq(booking.getItem().getId()),
+                Mockito.eq(BookingStatus.APPROVED), Mockito.eq(booking.getStart()), Mockito.any()))
+                .thenReturn(List.of(approved));
+
+        assertThrows(BookingConflictException.class, () -> bookingService.changeStatus(2L, 1L, true));
+        Mockito.verify(itemRepository).lockById(booking.getItem().getId());
+        Mockito.verify(bookingRepository, Mockito.never())
+                .updateStatus(Mockito.any(), Mockito.any(), Mockito.any());
+
+        approved.setStart(booking.getEnd());
+        Mockito.when(bookingRepository.updateStatus(1L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(1);
+        Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
+        assertEquals(booking, bookingService.changeStatus(2L, 1L, true));
+    }
+
     @Test
     public void testGetByIdNotFound() {
         assertThrows(UserNotFoundException.class, () -> bookingService.getById(2L, 1L));
 
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(booking.getBooker()));
+        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
         Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.empty());
         assertThrows(BookingNotFoundException.class, () -> bookingService.getById(2L, 1L));
 
@@ -132,7 +179,6 @@ public class BookingServiceImplUnitTest {
 
     @Test
     public void testGetById() {
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(booking.getBooker()));
         Mockito.when(bookingRepository.findById(Mockito.any())).thenReturn(Optional.of(booking));
         Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(booking);
 
@@ -145,6 +191,7 @@ public class BookingServiceImplUnitTest {
         assertEquals(bookingDto.getEnd(), resultBooking.getEnd());
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findById(any(Long.class));
+        Mockito.verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -156,8 +203,8 @@ public class BookingServiceImplUnitTest {
     @Test
     public void testGetAllByOwner() {
         List<Booking> bookingList = List.of(booking);
-        Page<Booking> emptyPage = new PageImpl<>(bookingList, PageRequest.of(3, 1), bookingList.size());
-        Page<Booking> bookingPage = new PageImpl<>(bookingList, PageRequest.of(0, 1), bookingList.size());
+        Slice<Booking> emptyPage = new SliceImpl<>(Collections.emptyList());
+        Slice<Booking> bookingPage = new SliceImpl<>(bookingList);
 
         //BookingState.PAST
         Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(booking.getBooker()));
@@ -259,6 +306,11 @@ public class BookingServiceImplUnitTest {
         assertEquals(bookingDto.getEnd(), resultBookings.get(0).getEnd());
     }
 
+    private BookingSlot makeSlot(Booking booking) {
+        return new BookingSlot(booking.getId(), booking.getItem().getId(), booking.getItem().getOwner().getId(),
+                booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
     private Booking makeBooking() {
         User itemOwner = User.builder()
                 .id(2L)
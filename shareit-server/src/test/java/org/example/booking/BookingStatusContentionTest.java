@@ -0,0 +1,78 @@
+package org.example.booking;
+
+import org.example.booking.model.Booking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookingStatusContentionTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private BookingConcurrencyFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new BookingConcurrencyFixture(context, "contention.ru");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.tearDown();
+    }
+
+    @Test
+    void testParallelRejectsOfSameBooking() throws Exception {
+        Long owner = fixture.createUser("owner");
+        Long booker = fixture.createUser("booker");
+        Long bookingId = fixture.createBooking(booker, fixture.createItem(owner),
+                LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS)).getId();
+        List<Callable<Booking>> rejects = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            rejects.add(() -> fixture.bookingService.changeStatus(owner, bookingId, false));
+        }
+
+        // Hold the row until every request has read the WAITING status and queued its update behind the lock.
+        List<Future<Booking>> results = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE bookings SET version = version WHERE id = ?", bookingId);
+            List<Future<Booking>> started = fixture.start(rejects);
+            awaitBlockedSessions(THREADS);
+            return started;
+        });
+
+        assertEquals(1, fixture.countSucceeded(results));
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertEquals(BookingStatus.REJECTED, booking.getStatus());
+        assertEquals(1L, booking.getVersion());
+    }
+
+    private void awaitBlockedSessions(int expected) {
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS " +
+                "WHERE BLOCKER_ID = SESSION_ID()", Integer.class) < expected) {
+            Thread.onSpinWait();
+        }
+    }
+}
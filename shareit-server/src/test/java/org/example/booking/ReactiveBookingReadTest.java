@@ -0,0 +1,175 @@
+package org.example.booking;
+
+import com.jayway.jsonpath.JsonPath;
+import org.example.booking.model.Booking;
+import org.example.item.ItemRepository;
+import org.example.item.model.Item;
+import org.example.request.ItemRequestRepository;
+import org.example.request.model.ItemRequest;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.bookings.reactive-reads.enabled=true")
+@AutoConfigureMockMvc
+class ReactiveBookingReadTest {
+    private static final String NDJSON_FIRST = MediaType.APPLICATION_NDJSON_VALUE + ", " +
+            MediaType.APPLICATION_JSON_VALUE;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private User owner;
+    private User booker;
+    private User requester;
+    private ItemRequest request;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@reactive.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@reactive.ru").build());
+        requester = userRepository.save(User.builder().name("requester").email("requester@reactive.ru").build());
+        request = requestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requester(requester)
+                .created(LocalDateTime.now())
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+        saveBooking(now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        saveBooking(now.minusDays(2), now.minusDays(1), BookingStatus.REJECTED);
+        saveBooking(now.minusHours(1), now.plusHours(1), BookingStatus.APPROVED);
+        saveBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING);
+        saveBooking(now.plusDays(2), now.plusDays(3), BookingStatus.REJECTED);
+        saveBooking(now.plusDays(3), now.plusDays(4), BookingStatus.APPROVED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookings.forEach(booking -> bookingRepository.deleteById(booking.getId()));
+        itemRepository.deleteById(item.getId());
+        requestRepository.deleteById(request.getId());
+        userRepository.deleteById(requester.getId());
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void testStreamsMatchJsonListsForEveryState() throws Exception {
+        for (BookingState state : BookingState.values()) {
+            assertEquals(jsonIds("/bookings?state=" + state + "&from=0&size=100", booker),
+                    ids(stream("/bookings?state=" + state + "&size=100", booker)), state::name);
+            assertEquals(jsonIds("/bookings/owner?state=" + state + "&from=0&size=100", owner),
+                    ids(stream("/bookings/owner?state=" + state + "&size=100", owner)), state::name);
+        }
+    }
+
+    @Test
+    void testStreamRendersBookingDetails() throws Exception {
+        String[] lines = stream("/bookings/owner?state=ALL&from=1&size=2", owner);
+
+        assertEquals(2, lines.length);
+        assertEquals(bookings.get(4).getId(), ((Number) JsonPath.read(lines[0], "$.id")).longValue());
+        assertEquals("REJECTED", JsonPath.read(lines[0], "$.status"));
+        assertEquals(owner.getName(), JsonPath.read(lines[0], "$.item.owner.name"));
+        assertEquals(booker.getEmail(), JsonPath.read(lines[0], "$.booker.email"));
+        assertEquals(requester.getName(), JsonPath.read(lines[0], "$.item.request.requester.name"));
+    }
+
+    @Test
+    void testStreamRejectsUnknownUserAndState() throws Exception {
+        MvcResult result = mvc.perform(get("/bookings?size=10").header("X-Sharer-User-Id", -1)
+                        .header(HttpHeaders.ACCEPT, NDJSON_FIRST))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+
+        mvc.perform(get("/bookings/owner?state=UNSUPPORTED&size=10").header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.ACCEPT, NDJSON_FIRST))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamValidatesPaging() throws Exception {
+        for (String paging : List.of("from=-1&size=10", "from=0&size=0", "from=0")) {
+            mvc.perform(get("/bookings?" + paging).header("X-Sharer-User-Id", booker.getId())
+                            .header(HttpHeaders.ACCEPT, NDJSON_FIRST))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private void saveBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        bookings.add(bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build()));
+    }
+
+    private String[] stream(String url, User user) throws Exception {
+        MvcResult result = mvc.perform(get(url).header("X-Sharer-User-Id", user.getId())
+                        .header(HttpHeaders.ACCEPT, NDJSON_FIRST))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? new String[0] : body.split("\n");
+    }
+
+    private List<Long> jsonIds(String url, User user) throws Exception {
+        String body = mvc.perform(get(url).header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(body, "$[*].id");
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+
+    private List<Long> ids(String[] lines) {
+        return Arrays.stream(lines)
+                .map(line -> ((Number) JsonPath.read(line, "$.id")).longValue())
+                .collect(Collectors.toList());
+    }
+}
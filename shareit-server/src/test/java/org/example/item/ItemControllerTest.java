@@ -2,6 +2,7 @@ package org.example.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.batch.BatchResult;
 import org.example.booking.model.BookingShort;
 import org.example.exception.*;
 import org.example.item.comment.CommentDto;
@@ -86,6 +87,25 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.requestId", is(itemDto.getRequestId()), Long.class));
     }
 
+    @Test
+    void createAllItems() throws Exception {
+        when(itemService.createAll(1L, itemDtos))
+                .thenReturn(List.of(BatchResult.created(0, itemDto)));
+
+        mvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(itemDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].body.id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist());
+    }
+
     @Test
     void addItemComment() throws Exception {
         when(itemService.addComment(1L, 1L, commentDto))
@@ -10,9 +10,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -47,7 +47,7 @@ class ItemRepositoryTest {
     @Test
     void testFindByOwnerIdOrderByIdAsc() {
         Pageable page = PageRequest.of(0, 1);
-        Page<Item> pages = itemRepository.findByOwnerIdOrderByIdAsc(user1.getId(), page);
+        Slice<Item> pages = itemRepository.findByOwnerIdOrderByIdAsc(user1.getId(), page);
         assertEquals(0, pages.getContent().size());
 
         Item item = itemRepository.save(makeItem("Отвёртка", request));
@@ -96,7 +96,7 @@ class ItemRepositoryTest {
     @Test
     void testSearch() {
         Pageable page = PageRequest.of(0, 1);
-        Page<Item> pages = itemRepository.searchTextInNameOrDescription("вёрт", page);
+        Slice<Item> pages = itemRepository.searchTextInNameOrDescription("вёрт", page);
         assertEquals(0, pages.getContent().size());
 
         Item item = itemRepository.save(makeItem("Отвёртка", request));
@@ -1,6 +1,7 @@
 package org.example.item;
 
 import lombok.RequiredArgsConstructor;
+import org.example.batch.BatchResult;
 import org.example.booking.BookingRepository;
 import org.example.booking.BookingService;
 import org.example.booking.model.Booking;
@@ -11,6 +12,8 @@ import org.example.item.comment.CommentDto;
 import org.example.item.comment.CommentRepository;
 import org.example.item.model.ItemDto;
 import org.example.item.model.ItemGetDto;
+import org.example.request.ItemRequestService;
+import org.example.request.model.ItemRequestDto;
 import org.example.user.UserService;
 import org.example.user.model.UserDto;
 import org.jeasy.random.EasyRandom;
@@ -27,6 +30,7 @@ import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 
@@ -37,6 +41,7 @@ class ItemServiceImplTest {
     private final UserService userService;
     private final ItemService itemService;
     private final BookingService bookingService;
+    private final ItemRequestService requestService;
     private final EasyRandom generator = new EasyRandom();
 
     @Mock
@@ -91,13 +96,56 @@ class ItemServiceImplTest {
             itemService.getAllByOwnerId(99L, 1, 1);
         });
         Mockito.verify(bookingRepository, Mockito.never())
-                .findLastBookingsByItemIdsInAndStatusNotIn(any(Set.class), any(Set.class));
-        Mockito.verify(bookingRepository, Mockito.never())
-                .findNextBookingsByItemIdsInAndStatusNotIn(any(Set.class), any(Set.class));
+                .findNearestBookingsByItemIdIn(any(Set.class), any(Set.class), any(LocalDateTime.class));
         Mockito.verify(commentRepository, Mockito.never())
                 .findAllByItemIdIn(any(Set.class));
     }
 
+    @Test
+    public void createAllItems() {
+        UserDto user1 = userService.create(makeUserDto("Пётр", "some@email.com"));
+        UserDto user2 = userService.create(makeUserDto("НеПётр", "any@email.com"));
+        ItemRequestDto request = requestService.create(user2.getId(),
+                ItemRequestDto.builder().description("Нужна дрель").created(LocalDateTime.now()).build());
+
+        List<BatchResult<ItemDto>> results = itemService.createAll(user1.getId(), List.of(
+                makeItemDto("Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true, request.getId()),
+                makeItemDto(" ", "Без названия", true, null),
+                makeItemDto("Щётка для обуви", "Стандартная щётка для обуви", true, 999L),
+                makeItemDto("Щётка для обуви", "Стандартная щётка для обуви", false, null)));
+
+        assertThat(results.size(), equalTo(4));
+        assertThat(results.get(0).getStatus(), equalTo(201));
+        assertThat(results.get(0).getBody().getRequestId(), equalTo(request.getId()));
+        assertThat(results.get(1).getStatus(), equalTo(400));
+        assertThat(results.get(1).getError(), equalTo("Название вещи не может быть пустым"));
+        assertThat(results.get(2).getStatus(), equalTo(404));
+        assertThat(results.get(3).getIndex(), equalTo(3));
+        assertThat(results.get(3).getStatus(), equalTo(201));
+
+        List<ItemGetDto> itemList = itemService.getAllByOwnerId(user1.getId(), 0, 10);
+        assertThat(itemList.size(), equalTo(2));
+        assertThat(itemList.get(0).getId(), equalTo(results.get(0).getBody().getId()));
+        assertThat(itemList.get(1).getId(), equalTo(results.get(3).getBody().getId()));
+
+        assertThrows(UserNotFoundException.class, () -> itemService.createAll(99L, List.of()));
+    }
+
+    @Test
+    public void createIgnoresClientIds() {
+        UserDto user = userService.create(makeUserDto("Пётр", "some@email.com"));
+        ItemDto withId = makeItemDto("Аккумуляторная дрель", "Аккумуляторная дрель + аккумулятор", true, null);
+        withId.setId(999_999L);
+
+        ItemDto item = itemService.create(user.getId(), withId);
+        List<BatchResult<ItemDto>> results = itemService.createAll(user.getId(), List.of(withId));
+
+        assertThat(item.getId(), not(equalTo(999_999L)));
+        assertThat(results.get(0).getStatus(), equalTo(201));
+        assertThat(results.get(0).getBody().getId(), not(equalTo(999_999L)));
+        assertThat(itemService.getById(user.getId(), item.getId()).getName(), equalTo(withId.getName()));
+    }
+
     @Test
     public void getAllItemsByOwnerIdPaginationTest() {
         UserDto user1 = userService.create(generator.nextObject(UserDto.class));
@@ -1,7 +1,9 @@
 package org.example.item;
 
 import org.example.booking.BookingRepository;
+import org.example.booking.archive.BookingArchive;
 import org.example.booking.model.BookingShort;
+import org.example.booking.model.NearestBooking;
 import org.example.exception.ItemBadRequestException;
 import org.example.exception.ItemNotFoundException;
 import org.example.exception.ItemRequestNotFoundException;
@@ -12,6 +14,8 @@ import org.example.item.comment.CommentRepository;
 import org.example.item.model.Item;
 import org.example.item.model.ItemDto;
 import org.example.item.model.ItemGetDto;
+import org.example.item.search.ItemSearchEngine;
+import org.example.query.QueryFanOut;
 import org.example.request.ItemRequestRepository;
 import org.example.request.model.ItemRequest;
 import org.example.user.UserRepository;
@@ -21,12 +25,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -47,6 +52,13 @@ public class ItemServiceImplUnitTest {
     private CommentRepository commentRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private BookingArchive bookingArchive;
+    @Spy
+    private QueryFanOut queryFanOut = new QueryFanOut(null, Duration.ofSeconds(1),
+            TransactionOperations.withoutTransaction());
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -138,9 +150,7 @@ public class ItemServiceImplUnitTest {
     public void testGetAllByOwnerIdNotFound() {
         assertThrows(UserNotFoundException.class, () -> itemService.getAllByOwnerId(1L, 0, 1));
         Mockito.verify(bookingRepository, Mockito.never())
-                .findLastBookingsByItemIdsInAndStatusNotIn(any(Set.class), any(Set.class));
-        Mockito.verify(bookingRepository, Mockito.never())
-                .findNextBookingsByItemIdsInAndStatusNotIn(any(Set.class), any(Set.class));
+                .findNearestBookingsByItemIdIn(any(Set.class), any(Set.class), any(LocalDateTime.class));
         Mockito.verify(commentRepository, Mockito.never())
                 .findAllByItemIdIn(any(Set.class));
     }
@@ -149,25 +159,24 @@ public class ItemServiceImplUnitTest {
     public void testGetFromSearchNotFound() {
         assertThrows(UserNotFoundException.class, () -> itemService.getFromSearch(
                 1L, "Item", 0, 1));
-        Mockito.verify(itemRepository, Mockito.never())
-                .searchTextInNameOrDescription(any(String.class), any(Pageable.class));
+        Mockito.verify(itemSearchEngine, Mockito.never())
+                .search(any(String.class), any(Pageable.class));
     }
 
     @Test
     public void testGetFromSearch() {
         List<Item> itemList = List.of(item);
-        Page<Item> page = new PageImpl<>(itemList, PageRequest.of(0, 1), itemList.size());
 
         Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(itemOwner));
         List<ItemDto> resultItems = itemService.getFromSearch(1L, " ", 0, 1);
 
         assertEquals(0, resultItems.size());
 
-        Mockito.when(itemRepository.searchTextInNameOrDescription(Mockito.any(), Mockito.any())).thenReturn(page);
+        Mockito.when(itemSearchEngine.search(Mockito.any(), Mockito.any())).thenReturn(new SliceImpl<>(itemList));
         resultItems = itemService.getFromSearch(1L, "te", 0, 1);
 
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .searchTextInNameOrDescription(any(String.class), any(Pageable.class));
+        Mockito.verify(itemSearchEngine, Mockito.times(1))
+                .search(any(String.class), any(Pageable.class));
         assertEquals(1, resultItems.size());
         assertEquals(item.getId(), resultItems.get(0).getId());
         assertEquals(item.getName(), resultItems.get(0).getName());
@@ -185,26 +194,24 @@ public class ItemServiceImplUnitTest {
 
         assertThrows(ItemNotFoundException.class, () -> itemService.getById(1L, 1L));
         Mockito.verify(bookingRepository, Mockito.never())
-                .findLastBookingsByItemIdAndStatusNotIn(any(Long.class), any(Set.class));
-        Mockito.verify(bookingRepository, Mockito.never())
-                .findNextBookingsByItemIdAndStatusNotIn(any(Long.class), any(Set.class));
-        Mockito.verify(commentRepository, Mockito.never())
-                .findAllByItemId(any(Long.class));
+                .findNearestBookingsByItemIdIn(any(Set.class), any(Set.class), any(LocalDateTime.class));
+        Mockito.verify(queryFanOut, Mockito.never())
+                .join(any());
+        Mockito.verify(queryFanOut, Mockito.never())
+                .fork(any());
     }
 
     @Test
     public void testGetById() {
-        List<BookingShort> bookingShortList = List.of(new BookingShort(1L, 1L, 1L),
-                new BookingShort(2L, 2L, 2L));
+        List<NearestBooking> nearestList = List.of(makeNearestBooking(item.getId(), 1L, 1L, true),
+                makeNearestBooking(item.getId(), 2L, 2L, false));
         List<Comment> commentList = List.of(comment);
 
         // userId is Owner
         Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(itemOwner));
         Mockito.when(itemRepository.findById(Mockito.any())).thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.findLastBookingsByItemIdAndStatusNotIn(
-                Mockito.any(), Mockito.any())).thenReturn(bookingShortList);
-        Mockito.when(bookingRepository.findNextBookingsByItemIdAndStatusNotIn(
-                Mockito.any(), Mockito.any())).thenReturn(bookingShortList);
+        Mockito.when(bookingRepository.findNearestBookingsByItemIdIn(
+                Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(nearestList);
         Mockito.when(commentRepository.findAllByItemId(Mockito.any())).thenReturn(commentList);
 
         ItemGetDto resultItem = itemService.getById(itemOwner.getId(), 1L);
@@ -213,8 +220,8 @@ public class ItemServiceImplUnitTest {
         assertEquals(item.getName(), resultItem.getName());
         assertEquals(item.getDescription(), resultItem.getDescription());
         assertEquals(item.getAvailable(), resultItem.getAvailable());
-        assertEquals(bookingShortList.get(0), resultItem.getLastBooking());
-        assertEquals(bookingShortList.get(0), resultItem.getNextBooking());
+        assertEquals(new BookingShort(item.getId(), 1L, 1L), resultItem.getLastBooking());
+        assertEquals(new BookingShort(item.getId(), 2L, 2L), resultItem.getNextBooking());
         assertEquals(commentList.size(), resultItem.getComments().size());
         assertEquals(comment.getId(), resultItem.getComments().get(0).getId());
 
@@ -235,11 +242,10 @@ public class ItemServiceImplUnitTest {
     public void testUpdateNotFound() {
         assertThrows(UserNotFoundException.class, () -> itemService.update(1L, 1L, itemDto));
 
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(itemOwner));
+        Mockito.when(userRepository.existsById(Mockito.any())).thenReturn(true);
         Mockito.when(itemRepository.findById(Mockito.any())).thenReturn(Optional.empty());
         assertThrows(ItemNotFoundException.class, () -> itemService.update(1L, 1L, itemDto));
 
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(itemOwner));
         Mockito.when(itemRepository.findById(Mockito.any())).thenReturn(Optional.of(item));
         assertThrows(UserNotFoundException.class, () -> itemService.update(5L, 1L, itemDto));
 
@@ -249,7 +255,6 @@ public class ItemServiceImplUnitTest {
 
     @Test
     public void testUpdate() {
-        Mockito.when(userRepository.findById(Mockito.any())).thenReturn(Optional.of(itemOwner));
         Mockito.when(itemRepository.findById(Mockito.any())).thenReturn(Optional.of(item));
         item.setName("NEW");
         Mockito.when(itemRepository.save(Mockito.any(Item.class))).thenReturn(item);
@@ -258,6 +263,7 @@ public class ItemServiceImplUnitTest {
         ItemDto resultItem = itemService.update(1L, 1L, itemDto);
         Mockito.verify(itemRepository, Mockito.times(1))
                 .save(any(Item.class));
+        Mockito.verifyNoInteractions(userRepository);
 
         assertEquals(item.getId(), resultItem.getId());
         assertEquals(itemDto.getName(), resultItem.getName());
@@ -320,4 +326,28 @@ public class ItemServiceImplUnitTest {
                 .created(LocalDateTime.now())
                 .build();
     }
+
+    private NearestBooking makeNearestBooking(Long itemId, Long id, Long bookerId, boolean last) {
+        return new NearestBooking() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public Boolean getLast() {
+                return last;
+            }
+        };
+    }
 }
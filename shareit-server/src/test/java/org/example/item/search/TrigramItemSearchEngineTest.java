@@ -0,0 +1,118 @@
+package org.example.item.search;
+
+import org.example.item.ItemRepository;
+import org.example.item.model.Item;
+import org.example.pagination.OffsetPageRequest;
+import org.example.user.UserRepository;
+import org.example.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "shareit.search.engine=trigram")
+@Import(TrigramItemSearchEngine.class)
+class TrigramItemSearchEngineTest {
+    @Autowired
+    private TrigramItemSearchEngine searchEngine;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Пётр").email("some@email.com").build());
+        itemRepository.save(makeItem("Отвёртка", "Аккумуляторная отвертка", true));
+        itemRepository.save(makeItem("Супер Отвёртка", "Аккумуляторная отвертка", true));
+        itemRepository.save(makeItem("Дрель", "Дрель ударная, аккумулятор в комплекте", true));
+        itemRepository.save(makeItem("Щётка для обуви", "Стандартная щётка", true));
+        itemRepository.save(makeItem("Сломанная дрель", "Аккумулятор не держит заряд", false));
+        itemRepository.save(makeItem("Drill", "Cordless DRILL", true));
+        itemRepository.save(makeItem("Straße", "Schraubendreher", true));
+        itemRepository.save(makeItem("Strasse", "Maßband", true));
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void testSearchMatchesSqlSemantics() {
+        for (String text : List.of("вёрт", "АкКум", "ая от", "ДРЕЛЬ", "щёт", "drill", "ll", "д", "нет такого",
+                "strasse", "STRAßE", "aße", "ass", "maßb")) {
+            for (int from = 0; from < 4; from++) {
+                Pageable page = OffsetPageRequest.of(from, 2);
+                Slice<Item> expected = itemRepository.searchTextInNameOrDescription(text, page);
+                Slice<Item> actual = searchEngine.search(text, page);
+
+                assertEquals(expected.getContent(), actual.getContent(), text + " from " + from);
+                assertEquals(expected.hasNext(), actual.hasNext(), text + " from " + from);
+            }
+        }
+    }
+
+    @Test
+    void testSearchAfter() {
+        Slice<Item> first = searchEngine.search("аккум", OffsetPageRequest.of(0, 2));
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+
+        Long lastId = first.getContent().get(1).getId();
+        Slice<Item> second = searchEngine.searchAfter("аккум", lastId, OffsetPageRequest.of(0, 2));
+        assertEquals(itemRepository.searchTextInNameOrDescriptionAfter("аккум", lastId, OffsetPageRequest.of(0, 2))
+                .getContent(), second.getContent());
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testCandidatesAreAscendingAndStartAfterId() {
+        List<Long> all = new ArrayList<>();
+        searchEngine.candidates("аккум", 0L).forEachRemaining(all::add);
+        List<Long> after = new ArrayList<>();
+        searchEngine.candidates("аккум", all.get(0)).forEachRemaining(after::add);
+
+        assertEquals(4, all.size());
+        assertEquals(all.stream().sorted().collect(Collectors.toList()), all);
+        assertEquals(all.subList(1, all.size()), after);
+        assertFalse(searchEngine.candidates("аккум", all.get(all.size() - 1)).hasNext());
+    }
+
+    @Test
+    void testIndexKeepsUpWithUpdates() {
+        Item item = itemRepository.save(makeItem("Стремянка", "Алюминиевая", true));
+        assertEquals(0, searchEngine.search("стрем", OffsetPageRequest.of(0, 10)).getNumberOfElements());
+
+        searchEngine.index(item);
+        assertEquals(List.of(item), searchEngine.search("стрем", OffsetPageRequest.of(0, 10)).getContent());
+
+        Item previous = Item.builder().id(item.getId()).name(item.getName()).description(item.getDescription()).build();
+        item.setName("Лестница");
+        searchEngine.reindex(previous, itemRepository.save(item));
+        assertEquals(List.of(item), searchEngine.search("лестн", OffsetPageRequest.of(0, 10)).getContent());
+        assertEquals(0, searchEngine.search("стрем", OffsetPageRequest.of(0, 10)).getNumberOfElements());
+        assertFalse(searchEngine.candidates("стрем", 0L).hasNext());
+        assertEquals(item.getId(), searchEngine.candidates("алюм", 0L).next());
+    }
+
+    private Item makeItem(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .request(null)
+                .build();
+    }
+}
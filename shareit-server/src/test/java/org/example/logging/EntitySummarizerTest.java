@@ -0,0 +1,47 @@
+package org.example.logging;
+
+import org.example.item.model.Item;
+import org.example.item.model.ItemDto;
+import org.example.user.model.User;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DataJpaTest
+@Import(EntitySummarizer.class)
+class EntitySummarizerTest {
+    @Autowired
+    private EntitySummarizer entitySummarizer;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void testSummarizeDoesNotInitializeProxies() {
+        User owner = entityManager.persist(User.builder().name("Пётр").email("summary@email.com").build());
+        Item item = entityManager.persist(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Item proxy = entityManager.getEntityManager().getReference(Item.class, item.getId());
+
+        assertEquals("Item#" + item.getId(), entitySummarizer.summarize(proxy));
+        assertEquals("Item[1]", entitySummarizer.summarize(List.of(proxy)));
+        assertFalse(Hibernate.isInitialized(proxy));
+        assertEquals("User#" + owner.getId(), entitySummarizer.summarize(owner));
+        assertEquals("ItemDto", entitySummarizer.summarize(ItemDto.builder().build()));
+        assertEquals("-", entitySummarizer.summarize(null));
+    }
+}
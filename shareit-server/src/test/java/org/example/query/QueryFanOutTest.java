@@ -0,0 +1,107 @@
+package org.example.query;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryFanOutTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final QueryFanOut queryFanOut = new QueryFanOut(executor, Duration.ofMillis(200),
+            TransactionOperations.withoutTransaction());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testForkRunsOnExecutor() {
+        Thread caller = Thread.currentThread();
+
+        assertNotEquals(caller, queryFanOut.join(queryFanOut.fork(Thread::currentThread)));
+    }
+
+    @Test
+    void testForksRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CompletableFuture<Boolean> first = queryFanOut.fork(() -> awaitOther(bothStarted));
+        CompletableFuture<Boolean> second = queryFanOut.fork(() -> awaitOther(bothStarted));
+
+        assertEquals(true, queryFanOut.join(first));
+        assertEquals(true, queryFanOut.join(second));
+    }
+
+    @Test
+    void testJoinRethrowsQueryFailure() {
+        CompletableFuture<Object> failed = queryFanOut.fork(() -> {
+            throw new IllegalArgumentException("bad query");
+        });
+
+        assertEquals("bad query", assertThrows(IllegalArgumentException.class, () -> queryFanOut.join(failed))
+                .getMessage());
+    }
+
+    @Test
+    void testJoinTimesOut() {
+        CountDownLatch alone = new CountDownLatch(2);
+        CompletableFuture<Boolean> slow = queryFanOut.fork(() -> awaitOther(alone));
+
+        assertThrows(QueryTimeoutException.class, () -> queryFanOut.join(slow));
+    }
+
+    @Test
+    void testWithoutExecutorRunsInPlace() {
+        QueryFanOut inPlace = new QueryFanOut(null, Duration.ofMillis(200), TransactionOperations.withoutTransaction());
+
+        assertEquals(Thread.currentThread(), inPlace.join(inPlace.fork(Thread::currentThread)));
+    }
+
+    @Test
+    void testReadOnlyTransactionStillForks() {
+        Thread caller = Thread.currentThread();
+
+        assertNotEquals(caller, inTransaction(true, () -> queryFanOut.join(queryFanOut.fork(Thread::currentThread))));
+    }
+
+    @Test
+    void testWritableTransactionRunsInPlace() {
+        Thread caller = Thread.currentThread();
+
+        assertEquals(caller, inTransaction(false, () -> queryFanOut.join(queryFanOut.fork(Thread::currentThread))));
+    }
+
+    private static <T> T inTransaction(boolean readOnly, Supplier<T> action) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            return action.get();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "shareit.query.fan-out.timeout=1s")
+class QueryFanOutTimeoutTest {
+    @Autowired
+    private QueryFanOut queryFanOut;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testTimedOutQueryIsCancelledInDatabase() throws Exception {
+        CompletableFuture<RuntimeException> statement = new CompletableFuture<>();
+        CompletableFuture<Object> slow = queryFanOut.fork(() -> {
+            try {
+                return entityManager.createNativeQuery("SELECT MAX(a.X + b.X) " +
+                        "FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b").getSingleResult();
+            } catch (RuntimeException e) {
+                statement.complete(e);
+                throw e;
+            }
+        });
+
+        assertThrows(QueryTimeoutException.class, () -> queryFanOut.join(slow));
+        // The statement itself is cancelled shortly after the join gives up instead of running to completion.
+        assertInstanceOf(PersistenceException.class, statement.get(5, TimeUnit.SECONDS));
+    }
+}
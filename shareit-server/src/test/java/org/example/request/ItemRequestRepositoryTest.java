@@ -7,9 +7,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
@@ -52,7 +52,7 @@ class ItemRequestRepositoryTest {
     void testFindAllByRequester_IdNot() {
         Sort sortById = Sort.by(Sort.Direction.ASC, "created");
         Pageable page = PageRequest.of(0, 1, sortById);
-        Page<ItemRequest> pages = requestRepository.findAllByRequester_IdNot(1L, page);
+        Slice<ItemRequest> pages = requestRepository.findAllByRequester_IdNot(1L, page);
         assertEquals(0, pages.getContent().size());
 
         ItemRequest itemRequest = requestRepository.save(makeItemRequest(LocalDateTime.now()));
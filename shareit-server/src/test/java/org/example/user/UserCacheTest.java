@@ -0,0 +1,63 @@
+package org.example.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.example.exception.UserNotFoundException;
+import org.example.user.model.UserDto;
+import org.example.user.model.UserUpdateDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+class UserCacheTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void testUserLookupsAreCachedAndEvicted() {
+        UserDto user = userService.create(UserDto.builder().name("Пётр").email("cached@email.com").build());
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        assertTrue(userRepository.findById(user.getId()).isPresent());
+        assertTrue(userRepository.findById(user.getId()).isPresent());
+        assertEquals(misses + 1, cacheGets("miss"));
+        assertEquals(hits + 1, cacheGets("hit"));
+
+        userService.update(user.getId(), UserUpdateDto.builder().name("НеПётр").build());
+        assertEquals("НеПётр", userService.getById(user.getId()).getName());
+
+        userService.delete(user.getId());
+        assertThrows(UserNotFoundException.class, () -> userService.getById(user.getId()));
+    }
+
+    @Test
+    void testRolledBackUpdateLeavesCachedUserUntouched() {
+        UserDto user = userService.create(UserDto.builder().name("Пётр").email("rollback@email.com").build());
+        UserDto other = userService.create(UserDto.builder().name("Иван").email("taken@email.com").build());
+        userService.getById(user.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.update(user.getId(),
+                UserUpdateDto.builder().name("НеПётр").email(other.getEmail()).build()));
+        assertEquals(user, userService.getById(user.getId()));
+
+        userService.delete(other.getId());
+        userService.delete(user.getId());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserCacheConfig.USERS)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}